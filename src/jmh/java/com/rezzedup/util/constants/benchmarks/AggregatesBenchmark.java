@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.AggregationCache;
+import com.rezzedup.util.constants.AggregationQuery;
+import com.rezzedup.util.constants.Aggregates;
+import com.rezzedup.util.constants.Constant;
+import com.rezzedup.util.constants.Constants;
+import com.rezzedup.util.constants.MatchRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures aggregating constants from holder classes of varying sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatesBenchmark
+{
+    @Param({"10", "1000", "10000"})
+    public int constants;
+    
+    private Class<?> holder;
+    private AggregationQuery<String> query;
+    private AggregationCache cache;
+    
+    private final MatchRules rules = MatchRules.of().all("CONSTANT").not("_7");
+    
+    @Setup
+    public void setup()
+    {
+        holder = GeneratedHolders.holder(constants);
+        query = Aggregates.from(holder).constantsOfType(String.class).compile();
+        cache = AggregationCache.create();
+    }
+    
+    @Benchmark
+    public void stream(Blackhole blackhole)
+    {
+        Aggregates.from(holder).constantsOfType(String.class).stream().forEach(blackhole::consume);
+    }
+    
+    @Benchmark
+    public void forEach(Blackhole blackhole)
+    {
+        Aggregates.from(holder).constantsOfType(String.class).forEach((source, name, value, isFromCollection) ->
+            blackhole.consume(value)
+        );
+    }
+    
+    @Benchmark
+    public void forEachCompiled(Blackhole blackhole)
+    {
+        query.forEach((source, name, value, isFromCollection) -> blackhole.consume(value));
+    }
+    
+    @Benchmark
+    public Object[] streamToArray()
+    {
+        return Aggregates.from(holder).constantsOfType(String.class).stream().toArray();
+    }
+    
+    @Benchmark
+    public List<String> toList()
+    {
+        return Aggregates.from(holder).constantsOfType(String.class).toList();
+    }
+    
+    @Benchmark
+    public List<String> toListCached()
+    {
+        return Aggregates.from(holder).constantsOfType(String.class).cached(cache).toList();
+    }
+    
+    @Benchmark
+    public Set<String> toSet()
+    {
+        return Aggregates.from(holder).constantsOfType(String.class).toSet();
+    }
+    
+    @Benchmark
+    public List<Object> toListOfAnyType()
+    {
+        return Aggregates.from(holder).constantsOfType(Object.class).toList();
+    }
+    
+    @Benchmark
+    public List<Integer> toListMatching()
+    {
+        return Aggregates.from(holder).constantsOfType(Integer.class).matching(rules).toList();
+    }
+    
+    @Benchmark
+    public List<Integer> toListOfIntegers()
+    {
+        return Aggregates.from(holder).constantsOfType(Integer.class).toList();
+    }
+    
+    @Benchmark
+    public int[] toIntArray()
+    {
+        return Aggregates.from(holder).constantsOfInt().toIntArray();
+    }
+    
+    @Benchmark
+    public long streamAllConstants()
+    {
+        return Constants.in(holder).streamAllConstants().map(Constant::name).count();
+    }
+}
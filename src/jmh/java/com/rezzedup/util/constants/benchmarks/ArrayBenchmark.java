@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.Aggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures aggregating the elements of a large constant lookup table, stored as an array
+ * versus wrapped within a list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBenchmark
+{
+    @SuppressWarnings("unused")
+    public static class Table
+    {
+        static final String[] NAMES = IntStream.range(0, 100_000).mapToObj(i -> "name" + i).toArray(String[]::new);
+        
+        static final List<String> NAMES_LIST = List.of(NAMES);
+        
+        static final int[] SIZES = IntStream.range(0, 100_000).toArray();
+    }
+    
+    @Benchmark
+    public String arrayValues()
+    {
+        List<String> names = Aggregates.from(Table.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.all("NAMES").not("LIST").arrays(true))
+            .values();
+        
+        return names.get(names.size() - 1);
+    }
+    
+    @Benchmark
+    public String listValues()
+    {
+        List<String> names = Aggregates.from(Table.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.all("NAMES_LIST").collections(true))
+            .values();
+        
+        return names.get(names.size() - 1);
+    }
+    
+    @Benchmark
+    public int[] primitiveArray()
+    {
+        return Aggregates.from(Table.class).constantsOfInt().matching(match -> match.arrays(true)).toIntArray();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.types.Cast;
+import com.rezzedup.util.constants.types.TypeCapture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures safe and unsafe (generic) casts, both successful and failing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CastBenchmark
+{
+    private final TypeCapture<List<String>> listType = new TypeCapture<>() {};
+    
+    private final Cast.Caster<String> strings = Cast.caster(String.class);
+    
+    private final Object string = "abc";
+    
+    private final Object list = List.of("abc");
+    
+    @Benchmark
+    public Optional<String> asMatching()
+    {
+        return Cast.as(String.class, string);
+    }
+    
+    @Benchmark
+    public Optional<Integer> asMismatching()
+    {
+        return Cast.as(Integer.class, string);
+    }
+    
+    @Benchmark
+    public @NullOr String asOrNullMatching()
+    {
+        return Cast.asOrNull(String.class, string);
+    }
+    
+    @Benchmark
+    public @NullOr Integer asOrNullMismatching()
+    {
+        return Cast.asOrNull(Integer.class, string);
+    }
+    
+    @Benchmark
+    public boolean casterTest()
+    {
+        return strings.test(string);
+    }
+    
+    @Benchmark
+    public Optional<List<String>> unsafeGenericMatching()
+    {
+        return Cast.unsafe().generic(listType, list);
+    }
+    
+    @Benchmark
+    public Optional<List<String>> unsafeGenericMismatching()
+    {
+        return Cast.unsafe().generic(listType, string);
+    }
+}
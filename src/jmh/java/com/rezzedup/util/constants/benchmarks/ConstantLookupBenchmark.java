@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.Aggregates;
+import com.rezzedup.util.constants.Constant;
+import com.rezzedup.util.constants.ConstantLookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a constant by a fixed name via {@code toMap()}, a constant method handle,
+ * and the {@code static final} field itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstantLookupBenchmark
+{
+    public static class Codes
+    {
+        public static final Integer NOT_FOUND = 404;
+        
+        public static final Integer GONE = 410;
+    }
+    
+    private static final Map<String, Constant<Integer>> BY_NAME =
+        Aggregates.from(Codes.class).constantsOfType(Integer.class).toMap();
+    
+    private static final MethodHandle NOT_FOUND =
+        ConstantLookup.of(Aggregates.from(Codes.class).constantsOfType(Integer.class).compile()).handle("NOT_FOUND");
+    
+    // A fresh string, so lookups never take the identity shortcut in String.equals().
+    private final String name = new String("NOT_FOUND");
+    
+    @Benchmark
+    public int byName()
+    {
+        return BY_NAME.get(name).value() + 1;
+    }
+    
+    @Benchmark
+    public int constantHandle() throws Throwable
+    {
+        return (Integer) NOT_FOUND.invokeExact() + 1;
+    }
+    
+    @Benchmark
+    public int staticField()
+    {
+        return Codes.NOT_FOUND + 1;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.AggregationCache;
+import com.rezzedup.util.constants.AggregationQuery;
+import com.rezzedup.util.constants.Aggregates;
+import com.rezzedup.util.constants.Constant;
+import com.rezzedup.util.constants.ConstantSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares ordinal-indexed constant sets with hash sets of the same constants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstantSetBenchmark
+{
+    @Param({"100"})
+    public int constants;
+    
+    private List<Constant<String>> all;
+    private ConstantSet<String> evens;
+    private ConstantSet<String> firstHalf;
+    private Set<Constant<String>> hashedEvens;
+    private Set<Constant<String>> hashedFirstHalf;
+    
+    @Setup
+    public void setup()
+    {
+        AggregationQuery<String> query = Aggregates.from(GeneratedHolders.holder(constants))
+            .constantsOfType(String.class)
+            .cached(AggregationCache.create())
+            .compile();
+        
+        all = query.stream().collect(Collectors.toList());
+        evens = ConstantSet.noneOf(query);
+        firstHalf = ConstantSet.noneOf(query);
+        
+        for (Constant<String> constant : all)
+        {
+            if (constant.ordinal() % 2 == 0) { evens.add(constant); }
+            if (constant.ordinal() < all.size() / 2) { firstHalf.add(constant); }
+        }
+        
+        hashedEvens = new HashSet<>(evens);
+        hashedFirstHalf = new HashSet<>(firstHalf);
+    }
+    
+    @Benchmark
+    public int containsConstantSet()
+    {
+        int found = 0;
+        for (Constant<String> constant : all) { if (evens.contains(constant)) { found++; } }
+        return found;
+    }
+    
+    @Benchmark
+    public int containsHashSet()
+    {
+        int found = 0;
+        for (Constant<String> constant : all) { if (hashedEvens.contains(constant)) { found++; } }
+        return found;
+    }
+    
+    @Benchmark
+    public Set<Constant<String>> intersectionConstantSet()
+    {
+        return evens.intersection(firstHalf);
+    }
+    
+    @Benchmark
+    public Set<Constant<String>> intersectionHashSet()
+    {
+        Set<Constant<String>> intersection = new HashSet<>(hashedEvens);
+        intersection.retainAll(hashedFirstHalf);
+        return intersection;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.Aggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving the calling class via {@code StackWalker} against the
+ * previous full stack trace and {@code Class.forName} approach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FromThisClassBenchmark
+{
+    // Simulates being called from deeper within the stack, e.g. nested static initializers.
+    @Param({"0", "32", "128"})
+    public int depth;
+    
+    @Benchmark
+    public Object stackWalker()
+    {
+        return nested(depth, true);
+    }
+    
+    @Benchmark
+    public Object legacyStackTrace()
+    {
+        return nested(depth, false);
+    }
+    
+    private static Object nested(int depth, boolean walk)
+    {
+        if (depth > 0) { return nested(depth - 1, walk); }
+        return (walk) ? Aggregates.fromThisClass() : legacyFromThisClass();
+    }
+    
+    private static Object legacyFromThisClass()
+    {
+        for (StackTraceElement element : Thread.currentThread().getStackTrace())
+        {
+            String name = element.getClassName();
+            
+            if (element.isNativeMethod()) { continue; }
+            if (name.startsWith("java.")) { continue; }
+            
+            try { return Aggregates.from(Class.forName(name)); }
+            catch (ClassNotFoundException e) { throw new IllegalStateException(e); }
+        }
+        
+        throw new IllegalStateException("Could not resolve class");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles holder classes containing a large number of constants at runtime,
+ * rather than checking thousands of generated fields into the repository.
+ */
+final class GeneratedHolders
+{
+    private GeneratedHolders() { throw new UnsupportedOperationException(); }
+    
+    private static final Map<Integer, Class<?>> HOLDERS = new ConcurrentHashMap<>();
+    
+    /**
+     * Gets a holder class with the specified amount of constants. Even-numbered constants
+     * are strings ({@code STRING_CONSTANT_0, ...}), odd-numbered constants are integers
+     * ({@code INT_CONSTANT_1, ...}).
+     *
+     * @param constants     amount of constants
+     *
+     * @return the compiled and loaded holder class
+     */
+    static Class<?> holder(int constants)
+    {
+        return HOLDERS.computeIfAbsent(constants, GeneratedHolders::compile);
+    }
+    
+    /**
+     * Gets the source code of a holder class with the specified amount of constants.
+     *
+     * @param name          simple class name
+     * @param constants     amount of constants
+     *
+     * @return the generated source code
+     */
+    static String source(String name, int constants)
+    {
+        StringBuilder source = new StringBuilder();
+        source.append("public class ").append(name).append(" {\n");
+        
+        for (int i = 0; i < constants; i++)
+        {
+            if (i % 2 == 0)
+            {
+                source.append("  public static final String STRING_CONSTANT_").append(i)
+                    .append(" = \"").append(i).append("\";\n");
+            }
+            else
+            {
+                source.append("  public static final Integer INT_CONSTANT_").append(i)
+                    .append(" = ").append(i).append(";\n");
+            }
+        }
+        
+        return source.append("}\n").toString();
+    }
+    
+    private static Class<?> compile(int constants)
+    {
+        String name = "Holder" + constants;
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        
+        if (compiler == null) { throw new IllegalStateException("Benchmarks require a JDK"); }
+        
+        try
+        {
+            Path directory = Files.createTempDirectory("constants-jmh");
+            Path file = Files.writeString(directory.resolve(name + ".java"), source(name, constants));
+            
+            int status = compiler.run(null, null, null, "-d", directory.toString(), file.toString());
+            if (status != 0) { throw new IllegalStateException("Could not compile " + name); }
+            
+            URLClassLoader loader = new URLClassLoader(
+                new URL[] { directory.toUri().toURL() },
+                GeneratedHolders.class.getClassLoader()
+            );
+            
+            return Class.forName(name, true, loader);
+        }
+        catch (IOException e) { throw new UncheckedIOException(e); }
+        catch (ClassNotFoundException e) { throw new IllegalStateException(e); }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.MatchRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures matching constant names against growing sets of rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchRulesBenchmark
+{
+    // Amount of 'any' and 'not' rules each (with a fixed 'all' rule).
+    @Param({"1", "8", "32"})
+    public int rules;
+    
+    private final String[] names = {
+        "HTTP_STATUS_NOT_FOUND",
+        "HTTP_STATUS_INTERNAL_SERVER_ERROR",
+        "DB_CONNECTION_TIMEOUT_SECONDS",
+        "PERMISSION_ADMIN_DELETE_USERS",
+        "FEATURE_FLAG_EXPERIMENTAL_RENDERER",
+        "MESSAGE_KEY_WELCOME_BACK",
+    };
+    
+    private MatchRules matchRules = MatchRules.of();
+    
+    @Setup
+    public void setup()
+    {
+        String[] any = new String[rules];
+        String[] not = new String[rules];
+        
+        for (int i = 0; i < rules; i++)
+        {
+            any[i] = "_ANY" + i + "_";
+            not[i] = "_NOT" + i + "_";
+        }
+        
+        // Ensure some names match at least one of the 'any' rules.
+        any[rules - 1] = "STATUS";
+        
+        matchRules = MatchRules.of().all("_").any(any).not(not);
+    }
+    
+    @Benchmark
+    public int matches()
+    {
+        int matched = 0;
+        for (String name : names) { if (matchRules.matches(name)) { matched++; } }
+        return matched;
+    }
+}
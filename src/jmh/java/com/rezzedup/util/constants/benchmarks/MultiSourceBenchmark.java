@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.Aggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares aggregating from many holder classes one after another versus in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiSourceBenchmark
+{
+    @Param({"16"})
+    public int sources;
+    
+    @Param({"1000"})
+    public int constants;
+    
+    private List<Class<?>> holders;
+    
+    @Setup
+    public void setup()
+    {
+        holders = new ArrayList<>();
+        for (int i = 0; i < sources; i++) { holders.add(GeneratedHolders.holder(constants + i)); }
+    }
+    
+    @Benchmark
+    public List<String> sequential()
+    {
+        List<String> all = new ArrayList<>();
+        for (Class<?> holder : holders) { all.addAll(Aggregates.from(holder).constantsOfType(String.class).toList()); }
+        return all;
+    }
+    
+    @Benchmark
+    public List<String> parallel()
+    {
+        return Aggregates.from(holders).constantsOfType(String.class).toList();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.Aggregates;
+import com.rezzedup.util.constants.Constant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up constants by name within {@code toMap()} versus a {@code HashMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameLookupBenchmark
+{
+    private static final int LOOKUPS = 1024;
+    
+    @Param({"100", "10000"})
+    public int constants;
+    
+    private Map<String, Constant<Object>> index;
+    private Map<String, Constant<Object>> hashed;
+    private String[] names;
+    
+    @Setup
+    public void setup()
+    {
+        index = Aggregates.from(GeneratedHolders.holder(constants)).constantsOfType(Object.class).toMap();
+        hashed = new HashMap<>(index);
+        
+        // Fresh strings, so lookups never take the identity shortcut in String.equals().
+        List<String> shuffled = new ArrayList<>();
+        for (String name : index.keySet()) { shuffled.add(new String(name)); }
+        Collections.shuffle(shuffled, new Random(1));
+        
+        names = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) { names[i] = shuffled.get(i % shuffled.size()); }
+        for (String name : names) { name.hashCode(); }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int perfectHash()
+    {
+        int found = 0;
+        for (String name : names) { if (index.get(name) != null) { found++; } }
+        return found;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int hashMap()
+    {
+        int found = 0;
+        for (String name : names) { if (hashed.get(name) != null) { found++; } }
+        return found;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.benchmarks;
+
+import com.rezzedup.util.constants.types.TypeCapture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures capturing types via anonymous subclasses and directly from classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeCaptureBenchmark
+{
+    private final Class<?> type = Integer.class;
+    
+    private final Type generic = new TypeCapture<Map<String, List<? extends Number>>>() {}.type();
+    
+    @Benchmark
+    public TypeCapture<?> anonymousSimpleGeneric()
+    {
+        return new TypeCapture<List<String>>() {};
+    }
+    
+    @Benchmark
+    public TypeCapture<?> anonymousNestedGeneric()
+    {
+        return new TypeCapture<Map<String, List<? extends Number>>>() {};
+    }
+    
+    @Benchmark
+    public TypeCapture<?> typeOfClass()
+    {
+        return TypeCapture.type(type);
+    }
+    
+    @Benchmark
+    public int typeOfClassHashCode()
+    {
+        return TypeCapture.type(type).hashCode();
+    }
+    
+    @Benchmark
+    public TypeCapture<?> typeOfGeneric()
+    {
+        return TypeCapture.type(generic);
+    }
+    
+    @Benchmark
+    public int typeOfGenericHashCode()
+    {
+        return TypeCapture.type(generic).hashCode();
+    }
+}
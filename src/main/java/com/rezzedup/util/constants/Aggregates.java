@@ -7,24 +7,34 @@
  */
 package com.rezzedup.util.constants;
 
-import com.rezzedup.util.constants.annotations.AggregatedResult;
-import com.rezzedup.util.constants.annotations.NotAggregated;
 import com.rezzedup.util.constants.exceptions.AggregationException;
+import com.rezzedup.util.constants.exceptions.MultiSourceAggregationException;
 import com.rezzedup.util.constants.types.Cast;
 import com.rezzedup.util.constants.types.TypeCapture;
 import com.rezzedup.util.constants.types.TypeCompatible;
 import pl.tlinkowski.annotation.basic.NullOr;
 
-import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -34,8 +44,7 @@ public class Aggregates
 {
     private Aggregates() { throw new UnsupportedOperationException(); }
     
-    private static final Set<Class<? extends Annotation>> SKIP_ANNOTATIONS =
-        Set.of(AggregatedResult.class, NotAggregated.class);
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
     
     /**
      * Aggregates constants from the provided source class.
@@ -46,7 +55,123 @@ public class Aggregates
      */
     public static Pending.ConstantType from(Class<?> source)
     {
-        return new Aggregator<>(source);
+        return new Aggregator<>(source, null);
+    }
+    
+    /**
+     * Aggregates constants from the provided source class, reading them with the access rights
+     * of the provided lookup instead of deep reflection. This allows reading non-public constants
+     * from modules that aren't open to this library.
+     *
+     * @param source    the source class
+     * @param lookup    lookup with access to the source class's constants
+     *
+     * @return next step: pending constant type
+     */
+    public static Pending.ConstantType from(Class<?> source, MethodHandles.Lookup lookup)
+    {
+        Objects.requireNonNull(lookup, "lookup");
+        return new Aggregator<>(source, lookup);
+    }
+    
+    /**
+     * Aggregates constants from the lookup class of the provided lookup, reading them with its
+     * access rights instead of deep reflection.
+     *
+     * <p>For example:</p>
+     *
+     * <pre>{@code
+     * Aggregates.from(MethodHandles.lookup()).constantsOfType(String.class).toList();
+     * }</pre>
+     *
+     * @param lookup    lookup with access to its own lookup class's constants
+     *
+     * @return next step: pending constant type
+     * @see #from(Class, MethodHandles.Lookup)
+     */
+    public static Pending.ConstantType from(MethodHandles.Lookup lookup)
+    {
+        Objects.requireNonNull(lookup, "lookup");
+        return new Aggregator<>(lookup.lookupClass(), lookup);
+    }
+    
+    /**
+     * Aggregates constants from all the provided source classes in parallel.
+     *
+     * <p>For example:</p>
+     *
+     * <pre>{@code
+     * List<String> names = Aggregates.from(plugins).constantsOfType(String.class).toList();
+     * }</pre>
+     *
+     * @param sources   the source classes (duplicates are only aggregated once)
+     *
+     * @return next step: pending constant type
+     * @see Pending.MultiAggregation
+     */
+    public static Pending.Sources from(Collection<? extends Class<?>> sources)
+    {
+        Objects.requireNonNull(sources, "sources");
+        List<Class<?>> distinct = List.copyOf(new LinkedHashSet<>(sources));
+        return new MultiAggregator<>((rules, failures) -> distinct);
+    }
+    
+    /**
+     * Aggregates constants from all the provided source classes in parallel.
+     *
+     * @param sources   the source classes (duplicates are only aggregated once)
+     *
+     * @return next step: pending constant type
+     * @see #from(Collection)
+     */
+    public static Pending.Sources from(Class<?> ... sources)
+    {
+        return from(Arrays.asList(sources));
+    }
+    
+    /**
+     * Aggregates constants from all classes directly within the provided package (excluding subpackages),
+     * found via the class loader of the calling class.
+     *
+     * <p>Classes are found by reading class files directly from jar files and directories. Only classes
+     * declaring constants whose names match the aggregation's rules are loaded, and each source is then
+     * aggregated in parallel. Jars are indexed once and cached by checksum, so repeated scans of unchanged
+     * jars don't need to read them again. Classes that fail to load don't abort the scan: they're reported
+     * alongside any other failures by {@link MultiSourceAggregationException#loadFailures()}.</p>
+     *
+     * <p>For example:</p>
+     *
+     * <pre>{@code
+     * List<Integer> codes = Aggregates.fromPackage("com.example.codes").constantsOfType(Integer.class).toList();
+     * }</pre>
+     *
+     * @param packageName   the package name
+     *
+     * @return next step: pending constant type
+     * @see Pending.MultiAggregation
+     */
+    public static Pending.Sources fromPackage(String packageName)
+    {
+        Class<?> caller = STACK_WALKER.walk(Aggregates::callerClass);
+        @NullOr ClassLoader loader = caller.getClassLoader();
+        return fromPackage(packageName, (loader == null) ? ClassLoader.getSystemClassLoader() : loader);
+    }
+    
+    /**
+     * Aggregates constants from all classes directly within the provided package (excluding subpackages),
+     * found via the provided class loader.
+     *
+     * @param packageName   the package name
+     * @param loader        class loader to find and load classes with
+     *
+     * @return next step: pending constant type
+     * @see #fromPackage(String)
+     */
+    public static Pending.Sources fromPackage(String packageName, ClassLoader loader)
+    {
+        Objects.requireNonNull(packageName, "packageName");
+        Objects.requireNonNull(loader, "loader");
+        return new MultiAggregator<>((rules, failures) -> PackageScanner.classes(packageName, loader, rules, failures));
     }
     
     /**
@@ -57,19 +182,31 @@ public class Aggregates
      */
     public static Pending.ConstantType fromThisClass()
     {
-        for (StackTraceElement element : Thread.currentThread().getStackTrace())
-        {
-            String name = element.getClassName();
-            
-            if (element.isNativeMethod()) { continue; }
-            if (name.startsWith("java.")) { continue; }
-            if (name.equals(Aggregates.class.getName())) { continue; }
-            
-            try { return from(Class.forName(name)); }
-            catch (ClassNotFoundException e) { throw new AggregationException(e); }
-        }
+        return from(STACK_WALKER.walk(Aggregates::callerClass));
+    }
+    
+    private static Class<?> callerClass(Stream<StackWalker.StackFrame> frames)
+    {
+        return frames.map(StackWalker.StackFrame::getDeclaringClass)
+            .filter(type -> type != Aggregates.class && !isJdkClass(type))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Could not resolve class"));
+    }
+    
+    private static boolean isJdkClass(Class<?> type)
+    {
+        Module module = type.getModule();
+        @NullOr String name = module.getName();
         
-        throw new IllegalStateException("Could not resolve class");
+        return name != null
+            && module.getLayer() == ModuleLayer.boot()
+            && (name.startsWith("java.") || name.startsWith("jdk."));
+    }
+    
+    private static @NullOr Object read(ConstantField constant, MethodHandles.@NullOr Lookup lookup)
+    {
+        try { return constant.value(lookup); }
+        catch (Exception e) { throw new AggregationException(e); }
     }
     
     /**
@@ -104,39 +241,101 @@ public class Aggregates
             {
                 return constantsOfType(TypeCapture.type(clazz));
             }
+            
+            /**
+             * Aggregates {@code int} constants without boxing them. Includes both {@code int}
+             * constants (read directly) and {@code Integer} constants. Arrays, collections, and maps
+             * are unpacked according to the match rules, just like typed aggregations.
+             *
+             * <p>Unlike typed aggregations, primitive aggregations cannot be
+             * {@link Aggregation#cached(AggregationCache) cached}: constants are read directly into
+             * a new array on every call.</p>
+             *
+             * <p>{@link LazyConstant Lazy constants} are excluded, since aggregating their values would
+             * resolve them. Aggregate them via {@code constantsOfType(Integer.class)} instead.</p>
+             *
+             * @return next step: pending {@code int} aggregation
+             */
+            IntAggregation constantsOfInt();
+            
+            /**
+             * Aggregates {@code long} constants without boxing them. Includes both {@code long}
+             * constants (read directly) and {@code Long} constants. Arrays, collections, and maps
+             * are unpacked according to the match rules, just like typed aggregations.
+             *
+             * <p>Unlike typed aggregations, primitive aggregations cannot be
+             * {@link Aggregation#cached(AggregationCache) cached}: constants are read directly into
+             * a new array on every call.</p>
+             *
+             * <p>{@link LazyConstant Lazy constants} are excluded, since aggregating their values would
+             * resolve them. Aggregate them via {@code constantsOfType(Long.class)} instead.</p>
+             *
+             * @return next step: pending {@code long} aggregation
+             */
+            LongAggregation constantsOfLong();
+            
+            /**
+             * Aggregates {@code double} constants without boxing them. Includes both {@code double}
+             * constants (read directly) and {@code Double} constants. Arrays, collections, and maps
+             * are unpacked according to the match rules, just like typed aggregations.
+             *
+             * <p>Unlike typed aggregations, primitive aggregations cannot be
+             * {@link Aggregation#cached(AggregationCache) cached}: constants are read directly into
+             * a new array on every call.</p>
+             *
+             * <p>{@link LazyConstant Lazy constants} are excluded, since aggregating their values would
+             * resolve them. Aggregate them via {@code constantsOfType(Double.class)} instead.</p>
+             *
+             * @return next step: pending {@code double} aggregation
+             */
+            DoubleAggregation constantsOfDouble();
         }
         
         /**
-         * Step: update settings further or aggregate constants.
+         * Step: aggregate constants.
          *
          * @param <T>   constant type
          */
-        interface Aggregation<T> extends Pending
+        interface Results<T> extends Pending
         {
             /**
-             * Sets the match rules, overwriting any existing rules.
+             * Streams all constants matching the specified type and previously-defined rules.
              *
-             * @param rules     match rules
+             * <p>The stream is {@link java.util.Spliterator#SIZED sized} (and subsized), ordered, non-null,
+             * and immutable, so operations like {@code count()} and {@code toArray()} know the exact size
+             * up front, and parallel streams split evenly.</p>
              *
-             * @return self (for method chaining)
+             * @return stream of all applicable constants
              */
-            Aggregation<T> matching(MatchRules rules);
+            Stream<Constant<T>> stream();
             
             /**
-             * Updates the match rules, appending to any previously set rules.
+             * Creates an immutable, lazy view of all constant values matching the specified type
+             * and previously-defined rules.
              *
-             * @param match     rules update operation
+             * <p>Unlike {@link #stream()}, values aren't wrapped as individual {@link Constant} instances.
+             * Elements of collection and array constants (when {@link MatchRules#collections(boolean)} or
+             * {@link MatchRules#arrays(boolean)} are enabled) are viewed directly instead of being copied
+             * if they all match the constant type, and the view's size is exact up front. Collection and
+             * array constants should therefore never be modified.</p>
              *
-             * @return self (for method chaining)
+             * @return immutable view of all applicable constant values
              */
-            Aggregation<T> matching(UnaryOperator<MatchRules> match);
+            List<T> values();
             
             /**
-             * Streams all constants matching the specified type and previously-defined rules.
+             * Visits all constants matching the specified type and previously-defined rules,
+             * in aggregation order.
              *
-             * @return stream of all applicable constants
+             * <p>Unlike {@link #stream()}, constants aren't wrapped as individual {@link Constant}
+             * instances, and nothing is allocated per constant (beyond an iterator for each
+             * non-random-access collection constant), which keeps garbage off latency-sensitive
+             * paths. Compiling the aggregation beforehand via {@link Aggregation#compile()} avoids
+             * any per-call allocation as well.</p>
+             *
+             * @param visitor   the visitor
              */
-            Stream<Constant<T>> stream();
+            void forEach(ConstantVisitor<? super T> visitor);
             
             /**
              * Collects all constant values matching the specified type and previously-defined rules
@@ -149,7 +348,9 @@ public class Aggregates
              */
             default <C extends Collection<T>> C toCollection(Supplier<C> constructor)
             {
-                return stream().map(Constant::value).collect(Collectors.toCollection(constructor));
+                C collection = constructor.get();
+                collection.addAll(values());
+                return collection;
             }
             
             /**
@@ -160,7 +361,7 @@ public class Aggregates
              */
             default List<T> toList()
             {
-                return List.copyOf(toCollection(ArrayList::new));
+                return List.copyOf(values());
             }
             
             /**
@@ -171,20 +372,301 @@ public class Aggregates
              */
             default Set<T> toSet()
             {
-                return Set.copyOf(toCollection(HashSet::new));
+                return Set.copyOf(values());
+            }
+        }
+        
+        /**
+         * Step: update settings further or aggregate constants.
+         *
+         * @param <T>   constant type
+         */
+        interface Aggregation<T> extends Results<T>
+        {
+            /**
+             * Sets the match rules, overwriting any existing rules.
+             *
+             * @param rules     match rules
+             *
+             * @return self (for method chaining)
+             */
+            Aggregation<T> matching(MatchRules rules);
+            
+            /**
+             * Updates the match rules, appending to any previously set rules.
+             *
+             * @param match     rules update operation
+             *
+             * @return self (for method chaining)
+             */
+            Aggregation<T> matching(UnaryOperator<MatchRules> match);
+            
+            /**
+             * Memoizes the aggregated constants in the provided cache, so that identical aggregations
+             * (same source, constant type, and rules) share a single result.
+             *
+             * @param cache     the cache
+             *
+             * @return self (for method chaining)
+             */
+            Aggregation<T> cached(AggregationCache cache);
+            
+            /**
+             * Compiles the current settings into an immutable query, which can be reused
+             * and run concurrently from any number of threads.
+             *
+             * <p>Unlike the query, this pending aggregation is mutable and must not be shared
+             * between threads.</p>
+             *
+             * @return a new immutable query
+             */
+            AggregationQuery<T> compile();
+            
+            /**
+             * Creates an immutable map containing all constants matching the specified type and
+             * previously-defined rules, keyed by their {@link Constant#path() paths}. Lookups take constant
+             * time, much like {@code Enum.valueOf(String)}, and iteration follows aggregation order.
+             *
+             * <p>When {@link #cached(AggregationCache) cached}, the map is built once and shared
+             * between identical aggregations.</p>
+             *
+             * @return immutable map of all applicable constants by path
+             * @throws IllegalStateException    if multiple constants share the same path,
+             *                                  such as elements aggregated from a collection
+             */
+            Map<String, Constant<T>> toMap();
+            
+            /**
+             * Creates a mutable set containing all constants matching the specified type and
+             * previously-defined rules. The set is a bit vector indexed by each constant's
+             * {@link Constant#ordinal() ordinal}, much like {@code EnumSet}.
+             *
+             * <p>Sets created from the same {@link #cached(AggregationCache) cached} aggregation
+             * share their ordinals, so bulk operations between them work on whole words at a time.</p>
+             *
+             * @return new set containing all applicable constants
+             * @see ConstantSet
+             */
+            default ConstantSet<T> toConstantSet() { return compile().toConstantSet(); }
+        }
+        
+        /**
+         * Step: update settings further or aggregate {@code int} constants.
+         */
+        interface IntAggregation extends Pending
+        {
+            /**
+             * Sets the match rules, overwriting any existing rules.
+             *
+             * @param rules     match rules
+             *
+             * @return self (for method chaining)
+             */
+            IntAggregation matching(MatchRules rules);
+            
+            /**
+             * Updates the match rules, appending to any previously set rules.
+             *
+             * @param match     rules update operation
+             *
+             * @return self (for method chaining)
+             */
+            IntAggregation matching(UnaryOperator<MatchRules> match);
+            
+            /**
+             * Creates an array containing all {@code int} constant values matching the
+             * previously-defined rules, in aggregation order.
+             *
+             * @return a new array containing all applicable constant values
+             */
+            int[] toIntArray();
+            
+            /**
+             * Streams all {@code int} constant values matching the previously-defined rules.
+             *
+             * @return stream of all applicable constant values
+             */
+            default IntStream intStream() { return Arrays.stream(toIntArray()); }
+        }
+        
+        /**
+         * Step: update settings further or aggregate {@code long} constants.
+         */
+        interface LongAggregation extends Pending
+        {
+            /**
+             * Sets the match rules, overwriting any existing rules.
+             *
+             * @param rules     match rules
+             *
+             * @return self (for method chaining)
+             */
+            LongAggregation matching(MatchRules rules);
+            
+            /**
+             * Updates the match rules, appending to any previously set rules.
+             *
+             * @param match     rules update operation
+             *
+             * @return self (for method chaining)
+             */
+            LongAggregation matching(UnaryOperator<MatchRules> match);
+            
+            /**
+             * Creates an array containing all {@code long} constant values matching the
+             * previously-defined rules, in aggregation order.
+             *
+             * @return a new array containing all applicable constant values
+             */
+            long[] toLongArray();
+            
+            /**
+             * Streams all {@code long} constant values matching the previously-defined rules.
+             *
+             * @return stream of all applicable constant values
+             */
+            default LongStream longStream() { return Arrays.stream(toLongArray()); }
+        }
+        
+        /**
+         * Step: update settings further or aggregate {@code double} constants.
+         */
+        interface DoubleAggregation extends Pending
+        {
+            /**
+             * Sets the match rules, overwriting any existing rules.
+             *
+             * @param rules     match rules
+             *
+             * @return self (for method chaining)
+             */
+            DoubleAggregation matching(MatchRules rules);
+            
+            /**
+             * Updates the match rules, appending to any previously set rules.
+             *
+             * @param match     rules update operation
+             *
+             * @return self (for method chaining)
+             */
+            DoubleAggregation matching(UnaryOperator<MatchRules> match);
+            
+            /**
+             * Creates an array containing all {@code double} constant values matching the
+             * previously-defined rules, in aggregation order.
+             *
+             * @return a new array containing all applicable constant values
+             */
+            double[] toDoubleArray();
+            
+            /**
+             * Streams all {@code double} constant values matching the previously-defined rules.
+             *
+             * @return stream of all applicable constant values
+             */
+            default DoubleStream doubleStream() { return Arrays.stream(toDoubleArray()); }
+        }
+        
+        /**
+         * Step: provide the desired constant type to aggregate from multiple sources.
+         */
+        interface Sources extends Pending
+        {
+            /**
+             * Sets the type of constant to aggregate.
+             *
+             * @param type  generic type token
+             * @param <T>   constant type
+             *
+             * @return next step: pending multi-source aggregation
+             */
+            <T> MultiAggregation<T> constantsOfType(TypeCompatible<T> type);
+            
+            /**
+             * Sets the type of constant to aggregate.
+             *
+             * @param clazz     class of constant type
+             * @param <T>       constant type
+             *
+             * @return next step: pending multi-source aggregation
+             */
+            default <T> MultiAggregation<T> constantsOfType(Class<T> clazz)
+            {
+                return constantsOfType(TypeCapture.type(clazz));
             }
         }
+        
+        /**
+         * Step: update settings further or aggregate constants from multiple sources.
+         *
+         * <p>Sources are aggregated in parallel, but results are always merged in the order that
+         * the sources were provided (and then in declaration order within each source). If any
+         * sources fail, all failures are reported together via a
+         * {@link MultiSourceAggregationException} once every source has been aggregated.</p>
+         *
+         * @param <T>   constant type
+         */
+        interface MultiAggregation<T> extends Results<T>
+        {
+            /**
+             * Sets the match rules, overwriting any existing rules.
+             *
+             * @param rules     match rules
+             *
+             * @return self (for method chaining)
+             */
+            MultiAggregation<T> matching(MatchRules rules);
+            
+            /**
+             * Updates the match rules, appending to any previously set rules.
+             *
+             * @param match     rules update operation
+             *
+             * @return self (for method chaining)
+             */
+            MultiAggregation<T> matching(UnaryOperator<MatchRules> match);
+            
+            /**
+             * Memoizes each source's aggregated constants in the provided cache.
+             *
+             * @param cache     the cache
+             *
+             * @return self (for method chaining)
+             * @see Aggregation#cached(AggregationCache)
+             */
+            MultiAggregation<T> cached(AggregationCache cache);
+            
+            /**
+             * Sets the executor that aggregates each source. By default, sources are aggregated
+             * via the {@link ForkJoinPool#commonPool() common pool}. The calling thread always
+             * aggregates the first source itself while the executor handles the rest.
+             *
+             * <p>Every source is initialized by the calling thread before any work is handed to the
+             * executor. Aggregating from within a static initializer (such as that of one of the
+             * sources, or of a class they depend on) never uses the executor: the class being
+             * initialized stays locked for other threads until its initializer completes, so
+             * waiting on them could deadlock. Those aggregations run on the calling thread instead.</p>
+             *
+             * @param executor  the executor
+             *
+             * @return self (for method chaining)
+             */
+            MultiAggregation<T> executor(Executor executor);
+        }
     }
     
     private static class Aggregator<T> implements Pending.ConstantType, Pending.Aggregation<T>
     {
         private final Class<?> source;
+        private final MethodHandles.@NullOr Lookup lookup;
         private @NullOr TypeCapture<T> type = null;
         private MatchRules rules = MatchRules.DEFAULT;
+        private @NullOr AggregationCache cache = null;
         
-        Aggregator(Class<?> source)
+        Aggregator(Class<?> source, MethodHandles.@NullOr Lookup lookup)
         {
             this.source = Objects.requireNonNull(source, "source");
+            this.lookup = lookup;
         }
         
         @SuppressWarnings("unchecked")
@@ -196,6 +678,15 @@ public class Aggregates
             return (Aggregator<P>) this;
         }
         
+        @Override
+        public Pending.IntAggregation constantsOfInt() { return new PrimitiveAggregator(source, lookup, int.class); }
+        
+        @Override
+        public Pending.LongAggregation constantsOfLong() { return new PrimitiveAggregator(source, lookup, long.class); }
+        
+        @Override
+        public Pending.DoubleAggregation constantsOfDouble() { return new PrimitiveAggregator(source, lookup, double.class); }
+        
         @Override
         public Aggregator<T> matching(MatchRules rules)
         {
@@ -212,36 +703,453 @@ public class Aggregates
         }
         
         @Override
-        public Stream<Constant<T>> stream()
+        public Aggregation<T> cached(AggregationCache cache)
+        {
+            this.cache = Objects.requireNonNull(cache, "cache");
+            return this;
+        }
+        
+        @Override
+        public AggregationQuery<T> compile()
         {
             if (type == null) { throw new IllegalStateException("Skipped step: Pending.ConstantType"); }
+            return new AggregationQuery<>(source, lookup, type, rules, cache);
+        }
+        
+        @Override
+        public Stream<Constant<T>> stream() { return compile().stream(); }
+        
+        @Override
+        public List<T> values() { return compile().values(); }
+        
+        @Override
+        public void forEach(ConstantVisitor<? super T> visitor) { compile().forEach(visitor); }
+        
+        @Override
+        public Map<String, Constant<T>> toMap() { return compile().toMap(); }
+    }
+    
+    private static class MultiAggregator<T> implements Pending.Sources, Pending.MultiAggregation<T>
+    {
+        private final SourceFinder sources;
+        private @NullOr TypeCapture<T> type = null;
+        private MatchRules rules = MatchRules.DEFAULT;
+        private @NullOr AggregationCache cache = null;
+        private Executor executor = ForkJoinPool.commonPool();
+        
+        MultiAggregator(SourceFinder sources)
+        {
+            this.sources = sources;
+        }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public <P> Pending.MultiAggregation<P> constantsOfType(TypeCompatible<P> type)
+        {
+            Objects.requireNonNull(type, "type");
+            this.type = (TypeCapture<T>) TypeCapture.type(type);
+            return (MultiAggregator<P>) this;
+        }
+        
+        @Override
+        public MultiAggregator<T> matching(MatchRules rules)
+        {
+            this.rules = Objects.requireNonNull(rules, "rules");
+            return this;
+        }
+        
+        @Override
+        public MultiAggregator<T> matching(UnaryOperator<MatchRules> match)
+        {
+            Objects.requireNonNull(match, "match");
+            this.rules = Objects.requireNonNull(match.apply(rules));
+            return this;
+        }
+        
+        @Override
+        public MultiAggregator<T> cached(AggregationCache cache)
+        {
+            this.cache = Objects.requireNonNull(cache, "cache");
+            return this;
+        }
+        
+        @Override
+        public MultiAggregator<T> executor(Executor executor)
+        {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+        
+        @Override
+        public Stream<Constant<T>> stream()
+        {
+            List<Constant<T>[]> results = aggregate(AggregationQuery::constants);
+            
+            int size = 0;
+            for (Constant<T>[] result : results) { size += result.length; }
+            
+            @SuppressWarnings("unchecked")
+            Constant<T>[] all = (Constant<T>[]) new Constant<?>[size];
+            int position = 0;
+            
+            for (Constant<T>[] result : results)
+            {
+                System.arraycopy(result, 0, all, position, result.length);
+                position += result.length;
+            }
+            
+            return Constants.stream(all);
+        }
+        
+        @Override
+        public List<T> values()
+        {
+            List<List<T>> results = aggregate(AggregationQuery::values);
+            ConstantValues.Builder<T> values = new ConstantValues.Builder<>(Object.class);
+            
+            for (List<T> result : results) { values.addView(result); }
+            return values.build();
+        }
+        
+        // Sources are visited one after another by the calling thread, so visitors needn't be thread-safe.
+        // Exceptions thrown by the visitor itself aren't failures of their source: they propagate unchanged
+        // and stop visiting immediately.
+        @Override
+        public void forEach(ConstantVisitor<? super T> visitor)
+        {
+            Objects.requireNonNull(visitor, "visitor");
+            if (type == null) { throw new IllegalStateException("Skipped step: Pending.Sources"); }
+            
+            Map<Class<?>, Throwable> failures = new LinkedHashMap<>();
+            Map<String, Throwable> loadFailures = new LinkedHashMap<>();
+            
+            ConstantVisitor<T> visiting = (source, name, value, isFromCollection) ->
+            {
+                try { visitor.visit(source, name, value, isFromCollection); }
+                catch (RuntimeException | Error e) { throw new VisitorFailure(e); }
+            };
+            
+            for (Class<?> source : sources.find(rules, loadFailures))
+            {
+                AggregationQuery<T> query = new AggregationQuery<>(source, null, type, rules, cache);
+                
+                try { query.forEach(visiting); }
+                catch (VisitorFailure e) { throw e.rethrow(); }
+                catch (RuntimeException | LinkageError e) { failures.put(source, e); }
+            }
+            
+            if (!failures.isEmpty() || !loadFailures.isEmpty())
+            {
+                throw new MultiSourceAggregationException(failures, loadFailures);
+            }
+        }
+        
+        // Aggregates each source in parallel, returning their results in source order.
+        // Exceptions and linkage errors are failures of their source, like with forEach().
+        @SuppressWarnings("unchecked")
+        private <R> List<R> aggregate(Function<AggregationQuery<T>, R> aggregation)
+        {
+            if (type == null) { throw new IllegalStateException("Skipped step: Pending.Sources"); }
+            
+            TypeCapture<T> type = this.type;
+            MatchRules rules = this.rules;
+            @NullOr AggregationCache cache = this.cache;
+            Map<String, Throwable> loadFailures = new LinkedHashMap<>();
+            List<Class<?>> sources = this.sources.find(rules, loadFailures);
+            
+            Function<Class<?>, R> aggregate =
+                source -> aggregation.apply(new AggregationQuery<>(source, null, type, rules, cache));
+            
+            CompletableFuture<R>[] pending = (CompletableFuture<R>[]) new CompletableFuture<?>[sources.size()];
             
-            return Constants.in(source).streamAllFields()
-                .filter(field -> rules.matches(field.getName()))
-                .filter(field -> SKIP_ANNOTATIONS.stream().noneMatch(field::isAnnotationPresent))
-                .flatMap(field ->
+            // Workers must never be the ones to run a source's static initializer, so they're all run here first.
+            for (int i = 0; i < pending.length; i++)
+            {
+                try { ClassInitializer.initialize(sources.get(i), null); }
+                catch (RuntimeException | LinkageError e) { pending[i] = CompletableFuture.failedFuture(e); }
+            }
+            
+            // Within a static initializer, workers could wait on a class that the calling thread is still
+            // initializing while it waits on them, so everything is aggregated by the calling thread instead.
+            if (!ClassInitializer.isInitializing())
+            {
+                // The first source is aggregated by the calling thread rather than waiting idly.
+                for (int i = 1; i < pending.length; i++)
                 {
-                    field.setAccessible(true);
+                    if (pending[i] != null) { continue; }
                     
-                    try
+                    Class<?> source = sources.get(i);
+                    pending[i] = CompletableFuture.supplyAsync(() -> aggregate.apply(source), executor);
+                }
+            }
+            
+            for (int i = 0; i < pending.length; i++)
+            {
+                if (pending[i] != null) { continue; }
+                
+                try { pending[i] = CompletableFuture.completedFuture(aggregate.apply(sources.get(i))); }
+                catch (RuntimeException | LinkageError e) { pending[i] = CompletableFuture.failedFuture(e); }
+            }
+            
+            List<R> results = new ArrayList<>(pending.length);
+            Map<Class<?>, Throwable> failures = new LinkedHashMap<>();
+            
+            for (int i = 0; i < pending.length; i++)
+            {
+                try { results.add(pending[i].join()); }
+                catch (CompletionException e)
+                {
+                    Throwable cause = (e.getCause() == null) ? e : e.getCause();
+                    if (cause instanceof Error && !(cause instanceof LinkageError)) { throw (Error) cause; }
+                    failures.put(sources.get(i), cause);
+                }
+                catch (CancellationException e) { failures.put(sources.get(i), e); }
+            }
+            
+            if (!failures.isEmpty() || !loadFailures.isEmpty())
+            {
+                throw new MultiSourceAggregationException(failures, loadFailures);
+            }
+            
+            return results;
+        }
+        
+        // Finds the sources to aggregate, reporting classes that couldn't be loaded by their name.
+        @FunctionalInterface
+        interface SourceFinder
+        {
+            List<Class<?>> find(MatchRules rules, Map<String, Throwable> loadFailures);
+        }
+    }
+    
+    // Carries an exception thrown by a visitor past the handling of source failures.
+    private static final class VisitorFailure extends RuntimeException
+    {
+        VisitorFailure(Throwable cause) { super(null, cause, false, false); }
+        
+        RuntimeException rethrow()
+        {
+            Throwable cause = getCause();
+            if (cause instanceof Error) { throw (Error) cause; }
+            return (RuntimeException) cause;
+        }
+    }
+    
+    private static class PrimitiveAggregator
+        implements Pending.IntAggregation, Pending.LongAggregation, Pending.DoubleAggregation
+    {
+        private final Class<?> source;
+        private final MethodHandles.@NullOr Lookup lookup;
+        private final Class<?> primitive;
+        private final Cast.Caster<?> boxed;
+        private MatchRules rules = MatchRules.DEFAULT;
+        
+        PrimitiveAggregator(Class<?> source, MethodHandles.@NullOr Lookup lookup, Class<?> primitive)
+        {
+            this.source = source;
+            this.lookup = lookup;
+            this.primitive = primitive;
+            this.boxed = Cast.caster(primitive);
+        }
+        
+        @Override
+        public PrimitiveAggregator matching(MatchRules rules)
+        {
+            this.rules = Objects.requireNonNull(rules, "rules");
+            return this;
+        }
+        
+        @Override
+        public PrimitiveAggregator matching(UnaryOperator<MatchRules> match)
+        {
+            Objects.requireNonNull(match, "match");
+            this.rules = Objects.requireNonNull(match.apply(rules));
+            return this;
+        }
+        
+        private List<ConstantField> constants()
+        {
+            boolean isInherited = rules.isAggregatingInheritedConstants();
+            
+            if (rules.isAggregatingFromNestedClasses()) { return ConstantTree.of(source, isInherited).fields(); }
+            return (isInherited) ? ConstantField.inheritedIn(source) : ConstantField.aggregatedIn(source);
+        }
+        
+        // Primitive constants are read directly, boxed constants are unboxed, arrays of either as well as
+        // collections and maps of boxed values are unpacked (if enabled), and anything else (including null)
+        // is excluded.
+        private boolean isArray(@NullOr Object value)
+        {
+            return value != null && rules.isAggregatingFromArrays() && value.getClass().isArray();
+        }
+        
+        // Boxed elements taking the place of their container (or null if the value isn't unpacked).
+        private @NullOr Collection<?> elements(@NullOr Object value)
+        {
+            if (isArray(value) && value instanceof Object[]) { return Arrays.asList((Object[]) value); }
+            if (value instanceof Map && rules.isAggregatingFromMaps()) { return ((Map<?, ?>) value).values(); }
+            if (value instanceof Collection && rules.isAggregatingFromCollections()) { return (Collection<?>) value; }
+            return null;
+        }
+        
+        private int matching(Collection<?> elements)
+        {
+            int matching = 0;
+            for (Object element : elements) { if (boxed.test(element)) { matching++; } }
+            return matching;
+        }
+        
+        @Override
+        public int[] toIntArray()
+        {
+            List<ConstantField> constants = constants();
+            int[] values = new int[constants.size()];
+            int size = 0;
+            
+            for (ConstantField constant : constants)
+            {
+                if (!rules.matches(constant.name())) { continue; }
+                
+                if (constant.type() == primitive)
+                {
+                    try { values[size++] = constant.intValue(lookup); }
+                    catch (IllegalAccessException e) { throw new AggregationException(e); }
+                }
+                else
+                {
+                    @NullOr Object value = read(constant, lookup);
+                    @NullOr Collection<?> elements = elements(value);
+                    
+                    if (isArray(value) && value instanceof int[])
+                    {
+                        // The array's elements take the place of the array itself.
+                        int length = ((int[]) value).length;
+                        if (length > 1) { values = Arrays.copyOf(values, values.length + length - 1); }
+                        System.arraycopy(value, 0, values, size, length);
+                        size += length;
+                    }
+                    else if (elements != null)
+                    {
+                        int matching = matching(elements);
+                        if (matching > 1) { values = Arrays.copyOf(values, values.length + matching - 1); }
+                        
+                        for (Object element : elements)
+                        {
+                            @NullOr Object unboxed = boxed.castOrNull(element);
+                            if (unboxed != null) { values[size++] = (Integer) unboxed; }
+                        }
+                    }
+                    else
+                    {
+                        @NullOr Object element = boxed.castOrNull(value);
+                        if (element != null) { values[size++] = (Integer) element; }
+                    }
+                }
+            }
+            
+            return (size == values.length) ? values : Arrays.copyOf(values, size);
+        }
+        
+        @Override
+        public long[] toLongArray()
+        {
+            List<ConstantField> constants = constants();
+            long[] values = new long[constants.size()];
+            int size = 0;
+            
+            for (ConstantField constant : constants)
+            {
+                if (!rules.matches(constant.name())) { continue; }
+                
+                if (constant.type() == primitive)
+                {
+                    try { values[size++] = constant.longValue(lookup); }
+                    catch (IllegalAccessException e) { throw new AggregationException(e); }
+                }
+                else
+                {
+                    @NullOr Object value = read(constant, lookup);
+                    @NullOr Collection<?> elements = elements(value);
+                    
+                    if (isArray(value) && value instanceof long[])
+                    {
+                        // The array's elements take the place of the array itself.
+                        int length = ((long[]) value).length;
+                        if (length > 1) { values = Arrays.copyOf(values, values.length + length - 1); }
+                        System.arraycopy(value, 0, values, size, length);
+                        size += length;
+                    }
+                    else if (elements != null)
                     {
-                        @NullOr Object value = field.get(null);
-                        if (value == null) { return Stream.empty(); }
+                        int matching = matching(elements);
+                        if (matching > 1) { values = Arrays.copyOf(values, values.length + matching - 1); }
                         
-                        if (value instanceof Collection && rules.isAggregatingFromCollections())
+                        for (Object element : elements)
                         {
-                            return ((Collection<?>) value).stream()
-                                .flatMap(element -> Cast.unsafe().generic(type, element).stream())
-                                .map(element -> new Constants.Impl<>(source, field.getName(), element, true));
+                            @NullOr Object unboxed = boxed.castOrNull(element);
+                            if (unboxed != null) { values[size++] = (Long) unboxed; }
                         }
-                        else
+                    }
+                    else
+                    {
+                        @NullOr Object element = boxed.castOrNull(value);
+                        if (element != null) { values[size++] = (Long) element; }
+                    }
+                }
+            }
+            
+            return (size == values.length) ? values : Arrays.copyOf(values, size);
+        }
+        
+        @Override
+        public double[] toDoubleArray()
+        {
+            List<ConstantField> constants = constants();
+            double[] values = new double[constants.size()];
+            int size = 0;
+            
+            for (ConstantField constant : constants)
+            {
+                if (!rules.matches(constant.name())) { continue; }
+                
+                if (constant.type() == primitive)
+                {
+                    try { values[size++] = constant.doubleValue(lookup); }
+                    catch (IllegalAccessException e) { throw new AggregationException(e); }
+                }
+                else
+                {
+                    @NullOr Object value = read(constant, lookup);
+                    @NullOr Collection<?> elements = elements(value);
+                    
+                    if (isArray(value) && value instanceof double[])
+                    {
+                        // The array's elements take the place of the array itself.
+                        int length = ((double[]) value).length;
+                        if (length > 1) { values = Arrays.copyOf(values, values.length + length - 1); }
+                        System.arraycopy(value, 0, values, size, length);
+                        size += length;
+                    }
+                    else if (elements != null)
+                    {
+                        int matching = matching(elements);
+                        if (matching > 1) { values = Arrays.copyOf(values, values.length + matching - 1); }
+                        
+                        for (Object element : elements)
                         {
-                            return Cast.unsafe().generic(type, value).stream()
-                                .map(element -> new Constants.Impl<>(source, field.getName(), element, false));
+                            @NullOr Object unboxed = boxed.castOrNull(element);
+                            if (unboxed != null) { values[size++] = (Double) unboxed; }
                         }
                     }
-                    catch (Exception e) { throw new AggregationException(e); }
-                });
+                    else
+                    {
+                        @NullOr Object element = boxed.castOrNull(value);
+                        if (element != null) { values[size++] = (Double) element; }
+                    }
+                }
+            }
+            
+            return (size == values.length) ? values : Arrays.copyOf(values, size);
         }
     }
 }
@@ -0,0 +1,514 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import com.rezzedup.util.constants.types.TypeCapture;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes aggregation results keyed by source class, constant type, match rules, and lookup.
+ *
+ * <p>Results loaded with a caller-provided lookup are only served to requests with the same lookup
+ * class and modes, so cached results never expose constants that a request couldn't read itself.
+ * Concurrent requests for the same missing result share a single load. Results are stored
+ * alongside their source class (via {@link ClassValue}), and the classes of their constant type
+ * and lookup are only weakly referenced, so cached entries never prevent a class or its class
+ * loader from unloading. Results containing constants that weren't yet initialized,
+ * such as those aggregated while their source class is still initializing, are never cached.</p>
+ *
+ * <p>For example:</p>
+ *
+ * <pre>{@code
+ * static final AggregationCache CACHE = AggregationCache.builder().maximumSize(1000).build();
+ *
+ * List<String> names = Aggregates.from(Example.class).constantsOfType(String.class).cached(CACHE).toList();
+ * }</pre>
+ */
+public final class AggregationCache
+{
+    /**
+     * Creates a new unbounded cache holding strong references to its results.
+     *
+     * @return a new cache
+     */
+    public static AggregationCache create() { return builder().build(); }
+    
+    /**
+     * Creates a new builder for configuring eviction.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() { return new Builder(); }
+    
+    private final long maximumSize;
+    private final boolean softValues;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong size = new AtomicLong();
+    private final Queue<WeakReference<Entry>> insertions = new ConcurrentLinkedQueue<>();
+    private volatile ClassValue<Map<Key, Entry>> segments = newSegments();
+    
+    private AggregationCache(Builder builder)
+    {
+        this.maximumSize = builder.maximumSize;
+        this.softValues = builder.softValues;
+    }
+    
+    private static ClassValue<Map<Key, Entry>> newSegments()
+    {
+        return new ClassValue<>()
+        {
+            @Override
+            protected Map<Key, Entry> computeValue(Class<?> type) { return new ConcurrentHashMap<>(); }
+        };
+    }
+    
+    /**
+     * Gets the amount of requests that were served from the cache.
+     *
+     * @return the hit count
+     */
+    public long hitCount() { return hits.sum(); }
+    
+    /**
+     * Gets the amount of requests that required loading a result.
+     *
+     * @return the miss count
+     */
+    public long missCount() { return misses.sum(); }
+    
+    /**
+     * Gets the approximate amount of cached results.
+     *
+     * @return the estimated size
+     */
+    public long estimatedSize() { return Math.max(0, size.get()); }
+    
+    /**
+     * Discards all cached results. Statistics are retained.
+     */
+    public void clear()
+    {
+        segments = newSegments();
+        insertions.clear();
+        size.set(0);
+    }
+    
+    // Gets the amount of entries kept for the source class, including those that are still loading.
+    int entryCount(Class<?> source) { return segments.get(source).size(); }
+    
+    @SuppressWarnings("unchecked")
+    <T> Result<T> get(
+        Class<?> source,
+        TypeCapture<T> type,
+        MatchRules rules,
+        MethodHandles.@NullOr Lookup lookup,
+        Loader<T> loader
+    )
+    {
+        Map<Key, Entry> segment = segments.get(source);
+        Key key = new Key(type, rules, lookup);
+        @NullOr Entry entry = segment.get(key);
+        
+        if (entry == null) { entry = segment.computeIfAbsent(key.weak(), weak -> new Entry(segment, weak)); }
+        
+        @NullOr Result<?> cached = entry.result();
+        
+        if (cached == null)
+        {
+            try
+            {
+                initialize(source, rules, lookup);
+                
+                // Single-flight: concurrent misses wait for the first load instead of repeating it.
+                synchronized (entry)
+                {
+                    cached = entry.result();
+                    
+                    if (cached == null)
+                    {
+                        misses.increment();
+                        Result<T> loaded = loader.load();
+                        
+                        if (loaded.isComplete) { store(entry, loaded); }
+                        return loaded;
+                    }
+                }
+            }
+            finally
+            {
+                // Entries never left without a result (because loading failed or was incomplete).
+                if (entry.result == null) { segment.remove(entry.key, entry); }
+            }
+        }
+        
+        hits.increment();
+        return (Result<T>) cached;
+    }
+    
+    private void store(Entry entry, Result<?> result)
+    {
+        boolean isNew = entry.result == null;
+        entry.result = (softValues) ? new SoftReference<>(result) : result;
+        
+        if (!isNew) { return; }
+        
+        // Stale entries are still counted until they're evicted, just like those of unloaded classes.
+        entry.segment.keySet().removeIf(Key::isStale);
+        
+        insertions.add(new WeakReference<>(entry));
+        size.incrementAndGet();
+        evict();
+    }
+    
+    private void evict()
+    {
+        while (size.get() > maximumSize)
+        {
+            @NullOr WeakReference<Entry> reference = insertions.poll();
+            if (reference == null) { return; }
+            
+            size.decrementAndGet();
+            
+            // A cleared reference means its source class was already unloaded.
+            @NullOr Entry oldest = reference.get();
+            if (oldest != null) { oldest.segment.remove(oldest.key, oldest); }
+        }
+    }
+    
+    // Loading a result must never happen while holding a lock that the source's initializer
+    // might also need, so make sure the source is initialized beforehand. Complete results
+    // are only ever cached once their sources are initialized, so hits never need to.
+    private static void initialize(Class<?> source, MatchRules rules, MethodHandles.@NullOr Lookup lookup)
+    {
+        try
+        {
+            if (!rules.isAggregatingFromNestedClasses())
+            {
+                ClassInitializer.initialize(source, lookup);
+                return;
+            }
+            
+            ConstantTree tree = ConstantTree.of(source, rules.isAggregatingInheritedConstants());
+            for (Class<?> nested : tree.classes()) { ClassInitializer.initialize(nested, lookup); }
+        }
+        catch (LinkageError e) { throw new AggregationException(e); }
+    }
+    
+    @FunctionalInterface
+    interface Loader<T>
+    {
+        Result<T> load();
+    }
+    
+    static final class Result<T>
+    {
+        private static final VarHandle BY_NAME;
+        private static final VarHandle VALUES;
+        private static final VarHandle UNIVERSE;
+        
+        static
+        {
+            try
+            {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                BY_NAME = lookup.findVarHandle(Result.class, "byName", ConstantNameMap.class);
+                VALUES = lookup.findVarHandle(Result.class, "values", List.class);
+                UNIVERSE = lookup.findVarHandle(Result.class, "universe", ConstantUniverse.class);
+            }
+            catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+        }
+        
+        // Never modified once loaded, so it's shared with views of this result.
+        final Constant<T>[] constants;
+        final boolean isComplete;
+        
+        private volatile @NullOr ConstantNameMap<T> byName = null;
+        private volatile @NullOr List<T> values = null;
+        private volatile @NullOr ConstantUniverse<T> universe = null;
+        
+        Result(Constant<T>[] constants, boolean isComplete)
+        {
+            this.constants = constants;
+            this.isComplete = isComplete;
+        }
+        
+        @SuppressWarnings("unchecked")
+        ConstantNameMap<T> byName()
+        {
+            @NullOr ConstantNameMap<T> resolved = byName;
+            if (resolved != null) { return resolved; }
+            
+            // Concurrent builds may race, but only the first one is ever published.
+            ConstantNameMap<T> created = ConstantNameMap.of(constants);
+            @NullOr Object witness = BY_NAME.compareAndExchange(this, null, created);
+            return (witness == null) ? created : (ConstantNameMap<T>) witness;
+        }
+        
+        @SuppressWarnings("unchecked")
+        List<T> values()
+        {
+            @NullOr List<T> resolved = values;
+            if (resolved != null) { return resolved; }
+            
+            // Every constant already matches, and lazy constants stay unresolved until accessed.
+            ConstantValues.Builder<T> builder = new ConstantValues.Builder<>(Object.class);
+            
+            for (Constant<T> constant : constants)
+            {
+                if (constant instanceof Constants.Lazy) { builder.addLazy(((Constants.Lazy<T>) constant).lazy()); }
+                else { builder.add(constant.value()); }
+            }
+            
+            List<T> created = builder.build();
+            @NullOr Object witness = VALUES.compareAndExchange(this, null, created);
+            return (witness == null) ? created : (List<T>) witness;
+        }
+        
+        @SuppressWarnings("unchecked")
+        ConstantUniverse<T> universe()
+        {
+            @NullOr ConstantUniverse<T> resolved = universe;
+            if (resolved != null) { return resolved; }
+            
+            ConstantUniverse<T> created = ConstantUniverse.of(constants);
+            @NullOr Object witness = UNIVERSE.compareAndExchange(this, null, created);
+            return (witness == null) ? created : (ConstantUniverse<T>) witness;
+        }
+    }
+    
+    // Stored keys only weakly reference classes, since they're kept alongside a source class that may
+    // outlive them (such as a lookup class from a child class loader). A type is identified by its name
+    // along with every class it refers to, and stored keys referring to unloaded classes are stale.
+    // Requests are looked up with strongly referencing keys, so cache hits never allocate references.
+    private static final class Key
+    {
+        private final String typeName;
+        private final MatchRules rules;
+        private final int lookupModes;
+        private final int hash;
+        
+        // Each either a class or a weak reference to one. Without a lookup, constants are read via
+        // deep reflection (distinct from every lookup).
+        private final Object[] typeClasses;
+        private final @NullOr Object lookupClass;
+        
+        Key(TypeCapture<?> type, MatchRules rules, MethodHandles.@NullOr Lookup lookup)
+        {
+            List<Class<?>> typeClasses = new ArrayList<>(1);
+            collectClasses(type.type(), typeClasses);
+            
+            this.typeName = type.toString();
+            this.rules = rules;
+            this.lookupModes = (lookup == null) ? -1 : lookup.lookupModes();
+            this.typeClasses = typeClasses.toArray();
+            this.lookupClass = (lookup == null) ? null : lookup.lookupClass();
+            
+            int hash = 31 * type.hashCode() + rules.hashCode();
+            hash = 31 * hash + ((lookup == null) ? 0 : lookup.lookupClass().hashCode());
+            this.hash = 31 * hash + lookupModes;
+        }
+        
+        private Key(Key key, Object[] typeClasses, @NullOr Object lookupClass)
+        {
+            this.typeName = key.typeName;
+            this.rules = key.rules;
+            this.lookupModes = key.lookupModes;
+            this.hash = key.hash;
+            this.typeClasses = typeClasses;
+            this.lookupClass = lookupClass;
+        }
+        
+        private static void collectClasses(Type type, List<Class<?>> classes)
+        {
+            if (type instanceof Class)
+            {
+                classes.add((Class<?>) type);
+            }
+            else if (type instanceof ParameterizedType)
+            {
+                ParameterizedType parameterized = (ParameterizedType) type;
+                @NullOr Type owner = parameterized.getOwnerType();
+                
+                if (owner != null) { collectClasses(owner, classes); }
+                collectClasses(parameterized.getRawType(), classes);
+                for (Type argument : parameterized.getActualTypeArguments()) { collectClasses(argument, classes); }
+            }
+            else if (type instanceof WildcardType)
+            {
+                WildcardType wildcard = (WildcardType) type;
+                for (Type bound : wildcard.getUpperBounds()) { collectClasses(bound, classes); }
+                for (Type bound : wildcard.getLowerBounds()) { collectClasses(bound, classes); }
+            }
+            else if (type instanceof GenericArrayType)
+            {
+                collectClasses(((GenericArrayType) type).getGenericComponentType(), classes);
+            }
+            else if (type instanceof TypeVariable && ((TypeVariable<?>) type).getGenericDeclaration() instanceof Class)
+            {
+                // Bounds may refer to the variable itself, so only its declaring class is collected.
+                classes.add((Class<?>) ((TypeVariable<?>) type).getGenericDeclaration());
+            }
+        }
+        
+        private static @NullOr Class<?> resolve(@NullOr Object reference)
+        {
+            if (reference instanceof WeakReference) { return (Class<?>) ((WeakReference<?>) reference).get(); }
+            return (Class<?>) reference;
+        }
+        
+        private static boolean isSame(@NullOr Object a, @NullOr Object b)
+        {
+            if (a == null || b == null) { return a == b; }
+            @NullOr Class<?> resolved = resolve(a);
+            return resolved != null && resolved == resolve(b);
+        }
+        
+        // Creates an equal key to store, which only weakly references classes.
+        Key weak()
+        {
+            Object[] references = new Object[typeClasses.length];
+            @NullOr Object lookupReference = (lookupClass == null) ? null : new WeakReference<>(resolve(lookupClass));
+            
+            for (int i = 0; i < references.length; i++)
+            {
+                references[i] = new WeakReference<>(resolve(typeClasses[i]));
+            }
+            
+            return new Key(this, references, lookupReference);
+        }
+        
+        boolean isStale()
+        {
+            if (lookupClass != null && resolve(lookupClass) == null) { return true; }
+            for (Object type : typeClasses) { if (resolve(type) == null) { return true; } }
+            return false;
+        }
+        
+        @Override
+        public boolean equals(@NullOr Object o)
+        {
+            if (this == o) { return true; }
+            if (!(o instanceof Key)) { return false; }
+            Key that = (Key) o;
+            
+            if (hash != that.hash || lookupModes != that.lookupModes) { return false; }
+            if (!isSame(lookupClass, that.lookupClass)) { return false; }
+            if (typeClasses.length != that.typeClasses.length) { return false; }
+            
+            for (int i = 0; i < typeClasses.length; i++)
+            {
+                if (!isSame(typeClasses[i], that.typeClasses[i])) { return false; }
+            }
+            
+            return typeName.equals(that.typeName) && rules.equals(that.rules);
+        }
+        
+        @Override
+        public int hashCode() { return hash; }
+    }
+    
+    private static final class Entry
+    {
+        final Map<Key, Entry> segment;
+        final Key key;
+        
+        // Either the result itself or a soft reference to it (guarded by this entry's monitor for writes).
+        volatile @NullOr Object result = null;
+        
+        Entry(Map<Key, Entry> segment, Key key)
+        {
+            this.segment = segment;
+            this.key = key;
+        }
+        
+        @NullOr Result<?> result()
+        {
+            @NullOr Object current = result;
+            if (current instanceof SoftReference) { return (Result<?>) ((SoftReference<?>) current).get(); }
+            return (Result<?>) current;
+        }
+    }
+    
+    /**
+     * Configures eviction for a new {@link AggregationCache}.
+     */
+    public static final class Builder
+    {
+        private long maximumSize = Long.MAX_VALUE;
+        private boolean softValues = false;
+        
+        private Builder() {}
+        
+        /**
+         * Bounds the amount of cached results. Once exceeded, the oldest results are evicted first.
+         *
+         * @param maximumSize   maximum amount of cached results
+         *
+         * @return self (for method chaining)
+         */
+        public Builder maximumSize(long maximumSize)
+        {
+            if (maximumSize < 0) { throw new IllegalArgumentException("maximumSize must not be negative"); }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+        
+        /**
+         * Holds results via soft references, allowing the garbage collector to reclaim them
+         * in response to memory demand. Reclaimed results are reloaded on their next request.
+         *
+         * @return self (for method chaining)
+         */
+        public Builder softValues()
+        {
+            this.softValues = true;
+            return this;
+        }
+        
+        /**
+         * Builds a new cache with the configured settings.
+         *
+         * @return a new cache
+         */
+        public AggregationCache build()
+        {
+            return new AggregationCache(this);
+        }
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "AggregationCache{" +
+            "maximumSize=" + maximumSize + ", " +
+            "softValues=" + softValues + ", " +
+            "hits=" + hitCount() + ", " +
+            "misses=" + missCount() +
+            '}';
+    }
+}
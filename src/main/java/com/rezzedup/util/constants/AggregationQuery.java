@@ -0,0 +1,464 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import com.rezzedup.util.constants.types.Cast;
+import com.rezzedup.util.constants.types.Primitives;
+import com.rezzedup.util.constants.types.TypeCapture;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, compiled aggregation.
+ *
+ * <p>Queries are compiled once from a source class, constant type, and match rules, after which
+ * the constants matching the rules are already known. Since queries are immutable, they can be
+ * shared freely and run concurrently from any number of threads without locking.</p>
+ *
+ * <p>For example:</p>
+ *
+ * <pre>{@code
+ * static final AggregationQuery<String> NAMES =
+ *     Aggregates.from(Example.class).constantsOfType(String.class).matching(match -> match.all("NAME")).compile();
+ *
+ * List<String> names = NAMES.toList();
+ * }</pre>
+ *
+ * @param <T>   constant type
+ */
+public final class AggregationQuery<T>
+{
+    private static final VarHandle UNIVERSE;
+    
+    static
+    {
+        try { UNIVERSE = MethodHandles.lookup().findVarHandle(AggregationQuery.class, "universe", ConstantUniverse.class); }
+        catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+    }
+    
+    private final Class<?> source;
+    private final MethodHandles.@NullOr Lookup lookup;
+    private final TypeCapture<T> type;
+    private final MatchRules rules;
+    private final @NullOr AggregationCache cache;
+    private final List<ConstantField> fields;
+    private final Cast.Caster<T> caster;
+    
+    // Paths positioned like the fields, or null if the paths are just the fields' names.
+    private final @NullOr List<String> paths;
+    
+    private volatile @NullOr ConstantUniverse<T> universe = null;
+    
+    AggregationQuery(
+        Class<?> source,
+        MethodHandles.@NullOr Lookup lookup,
+        TypeCapture<T> type,
+        MatchRules rules,
+        @NullOr AggregationCache cache
+    )
+    {
+        this.source = Objects.requireNonNull(source, "source");
+        this.lookup = lookup;
+        this.type = Objects.requireNonNull(type, "type");
+        this.rules = Objects.requireNonNull(rules, "rules");
+        this.cache = cache;
+        
+        if (rules.isAggregatingFromNestedClasses())
+        {
+            ConstantTree tree = ConstantTree.of(source, rules.isAggregatingInheritedConstants());
+            List<ConstantField> fields = new ArrayList<>();
+            List<String> paths = new ArrayList<>();
+            
+            for (int i = 0; i < tree.fields().size(); i++)
+            {
+                ConstantField constant = tree.fields().get(i);
+                if (!rules.matches(constant.name())) { continue; }
+                
+                fields.add(constant);
+                paths.add(tree.paths().get(i));
+            }
+            
+            this.fields = List.copyOf(fields);
+            this.paths = List.copyOf(paths);
+        }
+        else
+        {
+            List<ConstantField> constants = (rules.isAggregatingInheritedConstants())
+                ? ConstantField.inheritedIn(source)
+                : ConstantField.aggregatedIn(source);
+            
+            this.fields = constants.stream()
+                .filter(constant -> rules.matches(constant.name()))
+                .collect(Collectors.toUnmodifiableList());
+            
+            this.paths = null;
+        }
+        
+        this.caster = Cast.unsafe().caster(type);
+    }
+    
+    /**
+     * Gets the class constants are aggregated from. Constants aggregated from
+     * {@link MatchRules#nested(boolean) nested classes} have their own (nested) source.
+     *
+     * @return the source class
+     */
+    public Class<?> source() { return source; }
+    
+    /**
+     * Gets the type of constants to aggregate.
+     *
+     * @return the constant type
+     */
+    public TypeCapture<T> type() { return type; }
+    
+    /**
+     * Gets the rules that constants must match.
+     *
+     * @return the match rules
+     */
+    public MatchRules rules() { return rules; }
+    
+    /**
+     * Streams all constants matching this query. The stream is backed by an array of the
+     * constants, so it's sized, splits evenly in parallel, and never filters or flattens.
+     *
+     * @return stream of all applicable constants
+     * @see Aggregates.Pending.Results#stream()
+     */
+    public Stream<Constant<T>> stream()
+    {
+        return Constants.stream(result().constants);
+    }
+    
+    /**
+     * Visits all constants matching this query in aggregation order, without allocating
+     * anything per constant.
+     *
+     * @param visitor   the visitor
+     * @see Aggregates.Pending.Results#forEach(ConstantVisitor)
+     */
+    public void forEach(ConstantVisitor<? super T> visitor)
+    {
+        Objects.requireNonNull(visitor, "visitor");
+        
+        if (cache != null)
+        {
+            for (Constant<T> constant : cache.get(source, type, rules, lookup, this::load).constants)
+            {
+                visitor.visit(constant.source(), constant.name(), constant.value(), constant.isFromCollection());
+            }
+            return;
+        }
+        
+        // Indexed loops avoid allocating iterators.
+        for (int i = 0; i < fields.size(); i++)
+        {
+            ConstantField constant = fields.get(i);
+            @NullOr Object value = read(constant);
+            
+            if (isLazy(constant, value))
+            {
+                @NullOr T cast = caster.castOrNull(((LazyConstant<?>) value).get());
+                if (cast != null) { visitor.visit(constant.source(), constant.name(), cast, false); }
+            }
+            else if (isArray(value))
+            {
+                // Arrays are read in place, only boxing elements of primitive arrays.
+                for (int e = 0; e < ConstantArrays.length(value); e++)
+                {
+                    @NullOr T element = caster.castOrNull(ConstantArrays.get(value, e));
+                    if (element != null) { visitor.visit(constant.source(), constant.name(), element, true); }
+                }
+            }
+            else if (isMap(value))
+            {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+                {
+                    @NullOr T element = caster.castOrNull(entry.getValue());
+                    if (element != null) { visitor.visit(constant.source(), String.valueOf(entry.getKey()), element, true); }
+                }
+            }
+            else if (!(value instanceof Collection) || !rules.isAggregatingFromCollections())
+            {
+                @NullOr T cast = caster.castOrNull(value);
+                if (cast != null) { visitor.visit(constant.source(), constant.name(), cast, false); }
+            }
+            else if (value instanceof List && value instanceof RandomAccess)
+            {
+                List<?> elements = (List<?>) value;
+                
+                for (int e = 0; e < elements.size(); e++)
+                {
+                    @NullOr T element = caster.castOrNull(elements.get(e));
+                    if (element != null) { visitor.visit(constant.source(), constant.name(), element, true); }
+                }
+            }
+            else
+            {
+                for (Object element : (Collection<?>) value)
+                {
+                    @NullOr T cast = caster.castOrNull(element);
+                    if (cast != null) { visitor.visit(constant.source(), constant.name(), cast, true); }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Collects all constant values matching this query directly into the collection
+     * provided by the constructor.
+     *
+     * @param constructor   collection constructor
+     * @param <C>           collection type
+     *
+     * @return collection containing all applicable constant values
+     */
+    public <C extends Collection<T>> C toCollection(Supplier<C> constructor)
+    {
+        C collection = constructor.get();
+        collection.addAll(values());
+        return collection;
+    }
+    
+    /**
+     * Creates an immutable, lazy view of all constant values matching this query.
+     *
+     * @return immutable view of all applicable constant values
+     * @see Aggregates.Pending.Results#values()
+     */
+    public List<T> values()
+    {
+        if (cache != null) { return cache.get(source, type, rules, lookup, this::load).values(); }
+        
+        ConstantValues.Builder<T> values = new ConstantValues.Builder<>(type.raw());
+        
+        for (ConstantField constant : fields)
+        {
+            @NullOr Object value = read(constant);
+            
+            if (isLazy(constant, value)) { values.addLazy((LazyConstant<?>) value); }
+            else if (isArray(value)) { values.addArray(value); }
+            else if (isMap(value)) { values.addAll(((Map<?, ?>) value).values()); }
+            else if (value instanceof Collection && rules.isAggregatingFromCollections()) { values.addAll((Collection<?>) value); }
+            else { values.add(value); }
+        }
+        
+        return values.build();
+    }
+    
+    /**
+     * Creates an immutable list containing all constant values matching this query.
+     *
+     * @return immutable list containing all applicable constant values
+     */
+    public List<T> toList()
+    {
+        return List.copyOf(values());
+    }
+    
+    /**
+     * Creates an immutable set containing all constant values matching this query.
+     *
+     * @return immutable set containing all applicable constant values
+     */
+    public Set<T> toSet()
+    {
+        return Set.copyOf(values());
+    }
+    
+    /**
+     * Creates an immutable map containing all constants matching this query, keyed by their
+     * {@link Constant#path() paths}.
+     *
+     * @return immutable map of all applicable constants by path
+     * @throws IllegalStateException    if multiple constants share the same path
+     * @see Aggregates.Pending.Aggregation#toMap()
+     */
+    public Map<String, Constant<T>> toMap()
+    {
+        if (cache != null) { return cache.get(source, type, rules, lookup, this::load).byName(); }
+        return ConstantNameMap.of(stream().iterator());
+    }
+    
+    /**
+     * Creates a mutable set containing all constants matching this query.
+     *
+     * @return a new set containing all applicable constants
+     * @see ConstantSet#allOf(AggregationQuery)
+     */
+    public ConstantSet<T> toConstantSet()
+    {
+        return ConstantSet.allOf(this);
+    }
+    
+    // All constants by ordinal, shared by sets and maps of this query once every constant is initialized.
+    @SuppressWarnings("unchecked")
+    ConstantUniverse<T> universe()
+    {
+        if (cache != null) { return cache.get(source, type, rules, lookup, this::load).universe(); }
+        
+        @NullOr ConstantUniverse<T> resolved = universe;
+        if (resolved != null) { return resolved; }
+        
+        AggregationCache.Result<T> result = load();
+        ConstantUniverse<T> created = ConstantUniverse.of(result.constants);
+        if (!result.isComplete) { return created; }
+        
+        @NullOr Object witness = UNIVERSE.compareAndExchange(this, null, created);
+        return (witness == null) ? created : (ConstantUniverse<T>) witness;
+    }
+    
+    // All constants in aggregation order (never modified).
+    Constant<T>[] constants()
+    {
+        return result().constants;
+    }
+    
+    private AggregationCache.Result<T> result()
+    {
+        return (cache == null) ? load() : cache.get(source, type, rules, lookup, this::load);
+    }
+    
+    private AggregationCache.Result<T> load()
+    {
+        List<Constant<T>> constants = new ArrayList<>(fields.size());
+        boolean isComplete = true;
+        
+        for (int i = 0; i < fields.size(); i++)
+        {
+            @NullOr Object value = read(fields.get(i));
+            
+            if (value == null) { isComplete = false; }
+            else if (isLazy(fields.get(i), value)) { addLazy(constants, i, (LazyConstant<?>) value); }
+            else if (isArray(value))
+            {
+                for (int e = 0; e < ConstantArrays.length(value); e++) { add(constants, i, ConstantArrays.get(value, e), true); }
+            }
+            else if (isMap(value))
+            {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) { add(constants, i, entry); }
+            }
+            else if (value instanceof Collection && rules.isAggregatingFromCollections())
+            {
+                for (Object element : (Collection<?>) value) { add(constants, i, element, true); }
+            }
+            else { add(constants, i, value, false); }
+        }
+        
+        @SuppressWarnings("unchecked")
+        Constant<T>[] array = (Constant<T>[]) constants.toArray(Constant<?>[]::new);
+        return new AggregationCache.Result<>(array, isComplete);
+    }
+    
+    // Whether the value is a lazy constant declared with a matching type, which is aggregated without resolving it.
+    private boolean isLazy(ConstantField constant, @NullOr Object value)
+    {
+        if (!(value instanceof LazyConstant)) { return false; }
+        
+        // Types that lazy constants are instances of (like Object) aggregate the lazy constants themselves.
+        if (type.raw().isInstance(value)) { return false; }
+        
+        @NullOr TypeCapture<?> lazy = constant.lazyType();
+        if (lazy == null) { return false; }
+        
+        // Resolved values can't be checked against type parameters, so they must be declared exactly
+        // (unless the aggregated type's parameters are all wildcards, like Wildcards.LIST).
+        if (type.isGeneric() && !type.generics().stream().allMatch(TypeCapture::isWildcard))
+        {
+            return type.equals(lazy);
+        }
+        
+        return Primitives.boxed(type.raw()).isAssignableFrom(Primitives.boxed(lazy.raw()));
+    }
+    
+    // Whether the value is an array whose elements should be aggregated.
+    private boolean isArray(@NullOr Object value)
+    {
+        return value != null && rules.isAggregatingFromArrays() && value.getClass().isArray();
+    }
+    
+    // Whether the value is a map whose values should be aggregated.
+    private boolean isMap(@NullOr Object value)
+    {
+        return value instanceof Map && rules.isAggregatingFromMaps();
+    }
+    
+    private @NullOr Object read(ConstantField constant)
+    {
+        try { return constant.value(lookup); }
+        catch (Exception e) { throw new AggregationException(e); }
+    }
+    
+    // Ordinals are assigned in aggregation order, so they stay stable as long as the constants don't change.
+    private void add(List<Constant<T>> constants, int field, @NullOr Object value, boolean isFromCollection)
+    {
+        @NullOr T element = caster.castOrNull(value);
+        if (element == null) { return; }
+        
+        ConstantField constant = fields.get(field);
+        String path = (paths == null) ? constant.name() : paths.get(field);
+        
+        constants.add(
+            new Constants.Impl<>(constant.source(), constant.name(), path, element, isFromCollection, constants.size())
+        );
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void addLazy(List<Constant<T>> constants, int field, LazyConstant<?> value)
+    {
+        ConstantField constant = fields.get(field);
+        String path = (paths == null) ? constant.name() : paths.get(field);
+        
+        constants.add(
+            new Constants.Lazy<>(constant.source(), constant.name(), path, (LazyConstant<? extends T>) value, constants.size())
+        );
+    }
+    
+    // Map values are named by their keys, which replace their map's name within its path.
+    private void add(List<Constant<T>> constants, int field, Map.Entry<?, ?> entry)
+    {
+        @NullOr T element = caster.castOrNull(entry.getValue());
+        if (element == null) { return; }
+        
+        ConstantField constant = fields.get(field);
+        String name = String.valueOf(entry.getKey());
+        String path = name;
+        
+        if (paths != null)
+        {
+            String parent = paths.get(field);
+            path = parent.substring(0, parent.length() - constant.name().length()) + name;
+        }
+        
+        constants.add(new Constants.Impl<>(constant.source(), name, path, element, true, constants.size()));
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "AggregationQuery{" +
+            "source=" + source.getName() + ", " +
+            "type=" + type + ", " +
+            "rules=" + rules +
+            '}';
+    }
+}
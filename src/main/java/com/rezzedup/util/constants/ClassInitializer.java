@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Initializes source classes ahead of aggregation.
+ *
+ * <p>A class being initialized is locked for every other thread until its static initializer
+ * completes. Any aggregation started from within a static initializer therefore has to stay on
+ * the calling thread: handing work to another thread that needs the same class (or any class
+ * whose initialization depends on it) would wait on the caller forever while the caller waits
+ * on the result.</p>
+ */
+final class ClassInitializer
+{
+    private ClassInitializer() { throw new UnsupportedOperationException(); }
+    
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    
+    // Lookup::ensureInitialized (Java 15+) initializes the class in hand, otherwise it's found by name.
+    private static final @NullOr MethodHandle ENSURE_INITIALIZED;
+    
+    static
+    {
+        @NullOr MethodHandle ensureInitialized;
+        
+        try
+        {
+            ensureInitialized = MethodHandles.publicLookup().findVirtual(
+                MethodHandles.Lookup.class, "ensureInitialized", MethodType.methodType(Class.class, Class.class)
+            );
+        }
+        catch (ReflectiveOperationException e) { ensureInitialized = null; }
+        
+        ENSURE_INITIALIZED = ensureInitialized;
+    }
+    
+    /**
+     * Initializes the class on the calling thread if it isn't already initialized. Does nothing
+     * if the calling thread is the one currently initializing it.
+     *
+     * @param type      the class
+     * @param lookup    lookup with access to the class (or {@code null} to use deep reflection)
+     *
+     * @throws LinkageError     if initialization fails
+     */
+    static void initialize(Class<?> type, MethodHandles.@NullOr Lookup lookup)
+    {
+        if (type.isPrimitive() || type.isArray()) { return; }
+        
+        if (ENSURE_INITIALIZED != null)
+        {
+            try
+            {
+                MethodHandles.Lookup access =
+                    (lookup != null) ? lookup : MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                
+                @SuppressWarnings("unused")
+                Class<?> initialized = (Class<?>) ENSURE_INITIALIZED.invokeExact(access, type);
+                return;
+            }
+            catch (IllegalAccessException ignored) { /* Inaccessible: find it by name instead. */ }
+            catch (RuntimeException | Error e) { throw e; }
+            catch (Throwable e) { throw new AggregationException(e); }
+        }
+        
+        try { Class.forName(type.getName(), true, type.getClassLoader()); }
+        catch (ClassNotFoundException ignored) { /* Not resolvable by name (e.g. hidden classes). */ }
+    }
+    
+    /**
+     * Checks whether the calling thread is running a static initializer, meaning that
+     * at least one class is mid-initialization and locked for all other threads.
+     *
+     * @return {@code true} if a static initializer is on the calling thread's stack
+     */
+    static boolean isInitializing()
+    {
+        return STACK_WALKER.walk(frames -> frames.anyMatch(frame -> "<clinit>".equals(frame.getMethodName())));
+    }
+}
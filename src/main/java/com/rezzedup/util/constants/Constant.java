@@ -10,6 +10,10 @@ package com.rezzedup.util.constants;
 /**
  * Represents a constant value.
  *
+ * <p>Constants are equal when they share the same source, name, path, value, and ordinal, even if
+ * they were produced by separate aggregations. Lazily resolved constants compare their
+ * {@link LazyConstant} rather than its value, so comparing them never resolves it.</p>
+ *
  * @param <T>   constant type
  */
 public interface Constant<T>
@@ -28,6 +32,16 @@ public interface Constant<T>
      */
     String name();
     
+    /**
+     * Gets the path of this constant relative to the aggregated class. Constants aggregated from
+     * {@link MatchRules#nested(boolean) nested classes} qualify their name with the simple names of
+     * the classes they're nested within, such as {@code Http.NOT_FOUND}. Otherwise, the path is
+     * simply the constant's name.
+     *
+     * @return the constant's path
+     */
+    default String path() { return name(); }
+    
     /**
      * Gets the non-null value of this constant.
      *
@@ -36,9 +50,23 @@ public interface Constant<T>
     T value();
     
     /**
-     * Gets whether this constant was retrieved from a constant collection.
+     * Gets whether this constant was retrieved from a constant collection
+     * (or a constant array or map, when {@link MatchRules#arrays(boolean)} or
+     * {@link MatchRules#maps(boolean)} are enabled).
      *
      * @return {@code true} if this constant is from a collection, otherwise {@code false}
      */
     boolean isFromCollection();
+    
+    /**
+     * Gets the position of this constant within its aggregation, akin to {@link Enum#ordinal()}.
+     * Ordinals start at zero and follow aggregation order, which remains stable for as long as
+     * the aggregated constants don't change.
+     *
+     * <p>Ordinals key {@link ConstantSet} and {@link ConstantMap}. Constants that weren't aggregated
+     * (such as those streamed from {@link Constants#in(Class)}) have no ordinal.</p>
+     *
+     * @return the constant's ordinal, or {@code -1} if it has none
+     */
+    default int ordinal() { return -1; }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Reads elements of array constants in place, including primitive arrays.
+ */
+final class ConstantArrays
+{
+    private ConstantArrays() { throw new UnsupportedOperationException(); }
+    
+    /**
+     * Gets the length of an array.
+     *
+     * @param array     the array (of any type)
+     *
+     * @return the array's length
+     */
+    static int length(Object array)
+    {
+        return (array instanceof Object[]) ? ((Object[]) array).length : Array.getLength(array);
+    }
+    
+    /**
+     * Gets an element of an array, boxing it if the array is primitive.
+     *
+     * @param array     the array (of any type)
+     * @param index     the element's index
+     *
+     * @return the element
+     */
+    static Object get(Object array, int index)
+    {
+        if (array instanceof Object[]) { return ((Object[]) array)[index]; }
+        if (array instanceof int[]) { return ((int[]) array)[index]; }
+        if (array instanceof long[]) { return ((long[]) array)[index]; }
+        if (array instanceof double[]) { return ((double[]) array)[index]; }
+        if (array instanceof byte[]) { return ((byte[]) array)[index]; }
+        if (array instanceof char[]) { return ((char[]) array)[index]; }
+        if (array instanceof short[]) { return ((short[]) array)[index]; }
+        if (array instanceof float[]) { return ((float[]) array)[index]; }
+        if (array instanceof boolean[]) { return ((boolean[]) array)[index]; }
+        throw new IllegalArgumentException("Not an array: " + array.getClass());
+    }
+    
+    /**
+     * Creates a read-only view of an array. Elements of primitive arrays are boxed on access.
+     *
+     * @param array     the array (of any type)
+     *
+     * @return an unmodifiable, random-access list backed by the array
+     */
+    static List<Object> view(Object array)
+    {
+        return new View(array);
+    }
+    
+    private static final class View extends AbstractList<Object> implements RandomAccess
+    {
+        private final Object array;
+        private final int size;
+        
+        View(Object array)
+        {
+            this.array = array;
+            this.size = length(array);
+        }
+        
+        @Override
+        public Object get(int index) { return ConstantArrays.get(array, index); }
+        
+        @Override
+        public int size() { return size; }
+    }
+}
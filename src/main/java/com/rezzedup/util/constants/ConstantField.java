@@ -0,0 +1,489 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.annotations.AggregatedResult;
+import com.rezzedup.util.constants.annotations.NotAggregated;
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import com.rezzedup.util.constants.types.TypeCapture;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Cached descriptor of a single constant field.
+ *
+ * <p>Descriptors are computed once per class and stored in a {@link ClassValue}, so repeated
+ * aggregations over the same class never copy its declared fields again. Since the cached values
+ * are only reachable from the class they describe, they never prevent that class from unloading.</p>
+ *
+ * <p>Aggregated descriptors are sourced from a generated {@link ConstantIndex} when one is present,
+ * in which case the underlying field is only reflected if its details are explicitly requested.</p>
+ */
+final class ConstantField
+{
+    private static final ClassValue<List<ConstantField>> DECLARED = new ClassValue<>()
+    {
+        @Override
+        protected List<ConstantField> computeValue(Class<?> type)
+        {
+            List<ConstantField> fields = new ArrayList<>();
+            
+            for (Field field : type.getDeclaredFields())
+            {
+                if (Constants.isConstant(field)) { fields.add(new ConstantField(field)); }
+            }
+            
+            return List.copyOf(fields);
+        }
+    };
+    
+    private static final ClassValue<List<ConstantField>> AGGREGATED = new ClassValue<>()
+    {
+        @Override
+        protected List<ConstantField> computeValue(Class<?> type)
+        {
+            @NullOr ConstantIndex index = loadIndex(type);
+            
+            if (index == null)
+            {
+                return declaredIn(type).stream()
+                    .filter(ConstantField::isAggregated)
+                    .collect(Collectors.toUnmodifiableList());
+            }
+            
+            List<String> names = index.names();
+            List<ConstantField> fields = new ArrayList<>(names.size());
+            
+            for (int i = 0; i < names.size(); i++) { fields.add(new ConstantField(index, names.get(i), i)); }
+            
+            return List.copyOf(fields);
+        }
+    };
+    
+    private static final ClassValue<List<ConstantField>> INHERITED = new ClassValue<>()
+    {
+        @Override
+        protected List<ConstantField> computeValue(Class<?> type)
+        {
+            List<ConstantField> fields = new ArrayList<>(aggregatedIn(type));
+            Set<String> names = new HashSet<>();
+            
+            // Every declared constant hides inherited constants of the same name, even if it isn't aggregated.
+            for (ConstantField field : declaredIn(type)) { names.add(field.name()); }
+            
+            // Resolved like field references (JVMS §5.4.3.2): superinterfaces first, then the superclass.
+            for (Class<?> parent : type.getInterfaces()) { inherit(fields, names, parent); }
+            
+            @NullOr Class<?> superclass = type.getSuperclass();
+            if (superclass != null) { inherit(fields, names, superclass); }
+            
+            return List.copyOf(fields);
+        }
+        
+        // Each parent's table is already resolved (and cached), so every level is only reflected once.
+        private void inherit(List<ConstantField> fields, Set<String> names, Class<?> parent)
+        {
+            for (ConstantField field : INHERITED.get(parent))
+            {
+                if (names.add(field.name())) { fields.add(field); }
+            }
+        }
+    };
+    
+    private static final System.Logger INDEX_LOGGER = System.getLogger(ConstantIndex.class.getName());
+    
+    // Unusable indexes are only logged as warnings once, since there are likely many more.
+    private static final AtomicBoolean INDEX_WARNED = new AtomicBoolean();
+    
+    private static final MethodHandle INDEX_VALUE;
+    private static final MethodHandle INDEX_INT_VALUE;
+    private static final MethodHandle INDEX_LONG_VALUE;
+    private static final MethodHandle INDEX_DOUBLE_VALUE;
+    
+    static
+    {
+        try
+        {
+            INDEX_VALUE = indexAccessor("value", Object.class);
+            INDEX_INT_VALUE = indexAccessor("intValue", int.class);
+            INDEX_LONG_VALUE = indexAccessor("longValue", long.class);
+            INDEX_DOUBLE_VALUE = indexAccessor("doubleValue", double.class);
+        }
+        catch (ReflectiveOperationException e) { throw new ExceptionInInitializerError(e); }
+    }
+    
+    private static MethodHandle indexAccessor(String name, Class<?> type) throws ReflectiveOperationException
+    {
+        return MethodHandles.lookup().findVirtual(ConstantIndex.class, name, MethodType.methodType(type, int.class));
+    }
+    
+    /**
+     * Gets the cached constant field descriptors declared by the provided class.
+     *
+     * @param source    the source class
+     *
+     * @return an immutable list of constant fields in declaration order
+     */
+    static List<ConstantField> declaredIn(Class<?> source)
+    {
+        return DECLARED.get(source);
+    }
+    
+    /**
+     * Gets the cached descriptors of constant fields eligible for aggregation in the provided class,
+     * preferring a generated index over reflection.
+     *
+     * @param source    the source class
+     *
+     * @return an immutable list of aggregated constant fields in declaration order
+     * @see #isAggregated()
+     */
+    static List<ConstantField> aggregatedIn(Class<?> source)
+    {
+        return AGGREGATED.get(source);
+    }
+    
+    /**
+     * Gets the cached descriptors of constant fields eligible for aggregation in the provided class,
+     * including those inherited from its superclasses and superinterfaces that it doesn't hide.
+     *
+     * <p>A constant hides all inherited constants of the same name. The class's own constants come
+     * first, followed by inherited constants in the order that field references are resolved: those
+     * of each direct superinterface (recursively), then those of the superclass (recursively).</p>
+     *
+     * @param source    the source class
+     *
+     * @return an immutable list of aggregated constant fields, both declared and inherited
+     */
+    static List<ConstantField> inheritedIn(Class<?> source)
+    {
+        return INHERITED.get(source);
+    }
+    
+    private static @NullOr ConstantIndex loadIndex(Class<?> source)
+    {
+        @NullOr ClassLoader loader = source.getClassLoader();
+        if (loader == null) { return null; }
+        
+        // Class files are never encapsulated, so checking for one is cheaper than failing to load the class.
+        String name = source.getName() + ConstantIndex.CLASS_NAME_SUFFIX;
+        if (loader.getResource(name.replace('.', '/') + ".class") == null) { return null; }
+        
+        // Generated indexes are package-private, so reading them requires the package to be open.
+        if (!source.getModule().isOpen(source.getPackageName(), ConstantField.class.getModule()))
+        {
+            boolean isFirst = INDEX_WARNED.compareAndSet(false, true);
+            
+            INDEX_LOGGER.log(
+                (isFirst) ? System.Logger.Level.WARNING : System.Logger.Level.DEBUG,
+                "Not using constant index " + name + " since package " + source.getPackageName()
+                    + " is not open to " + ConstantField.class.getModule().getName() + ", falling back to reflection"
+                    + ((isFirst) ? " (further occurrences are only logged at DEBUG level)" : "")
+            );
+            return null;
+        }
+        
+        try
+        {
+            Class<?> type = Class.forName(name, false, loader);
+            if (!ConstantIndex.class.isAssignableFrom(type)) { return null; }
+            
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            
+            ConstantIndex index = (ConstantIndex) constructor.newInstance();
+            return (index.source() == source) ? index : null;
+        }
+        catch (ReflectiveOperationException | RuntimeException | LinkageError e)
+        {
+            INDEX_LOGGER.log(
+                System.Logger.Level.WARNING, "Unable to load constant index " + name + ", falling back to reflection", e
+            );
+            return null;
+        }
+    }
+    
+    private final Class<?> source;
+    private final String name;
+    private final boolean isAggregated;
+    private final boolean isIndexed;
+    private final Class<?> type;
+    
+    private volatile @NullOr Reflected reflected;
+    
+    // Getters resolved via deep reflection (or a generated index), shared by all reads without a lookup.
+    private volatile @NullOr MethodHandle getter;
+    private volatile @NullOr MethodHandle exactGetter = null;
+    
+    // Getters resolved with a caller's lookup are only ever reused for lookups with the same access.
+    private volatile @NullOr LookupGetters lookupGetters = null;
+    
+    private ConstantField(Field field)
+    {
+        this.source = field.getDeclaringClass();
+        this.name = field.getName();
+        this.isAggregated =
+            !field.isAnnotationPresent(AggregatedResult.class) && !field.isAnnotationPresent(NotAggregated.class);
+        this.isIndexed = false;
+        this.type = field.getType();
+        this.reflected = new Reflected(field);
+        this.getter = null;
+    }
+    
+    private ConstantField(ConstantIndex index, String name, int position)
+    {
+        this.source = index.source();
+        this.name = name;
+        this.isAggregated = true;
+        this.isIndexed = true;
+        this.type = index.types().get(position);
+        this.reflected = null;
+        this.getter = MethodHandles.insertArguments(INDEX_VALUE.bindTo(index), 0, position);
+        this.exactGetter = exactIndexGetter(index, position, type, getter);
+    }
+    
+    // Primitive int, long, and double constants are read via the index's typed accessors, so they're never boxed.
+    private static MethodHandle exactIndexGetter(ConstantIndex index, int position, Class<?> type, MethodHandle getter)
+    {
+        @NullOr MethodHandle accessor =
+            (type == int.class) ? INDEX_INT_VALUE
+            : (type == long.class) ? INDEX_LONG_VALUE
+            : (type == double.class) ? INDEX_DOUBLE_VALUE
+            : null;
+        
+        return (accessor == null)
+            ? getter.asType(MethodType.methodType(type))
+            : MethodHandles.insertArguments(accessor.bindTo(index), 0, position);
+    }
+    
+    private Reflected reflected()
+    {
+        @NullOr Reflected resolved = reflected;
+        if (resolved != null) { return resolved; }
+        
+        try { return reflected = new Reflected(source.getDeclaredField(name)); }
+        catch (NoSuchFieldException e) { throw new IllegalStateException("Outdated constant index: " + source, e); }
+    }
+    
+    Class<?> source() { return source; }
+    
+    String name() { return name; }
+    
+    int modifiers() { return reflected().modifiers; }
+    
+    Class<?> type() { return type; }
+    
+    Type genericType() { return reflected().genericType; }
+    
+    List<Annotation> annotations() { return reflected().annotations; }
+    
+    /**
+     * Gets the value type of this field if it's declared as a {@link LazyConstant} (or a {@code Supplier},
+     * which might hold one), so that lazy values can be matched without resolving them.
+     *
+     * @return the declared value type, or {@code null} if this field isn't lazy
+     */
+    @NullOr TypeCapture<?> lazyType() { return reflected().lazyType; }
+    
+    /**
+     * Gets whether this field is eligible for aggregation, meaning it isn't annotated
+     * with {@link AggregatedResult} or {@link NotAggregated}.
+     *
+     * @return {@code true} if eligible, otherwise {@code false}
+     */
+    boolean isAggregated() { return isAggregated; }
+    
+    /**
+     * Gets whether this field is read via a generated {@link ConstantIndex} rather than reflection.
+     *
+     * @return {@code true} if indexed, otherwise {@code false}
+     */
+    boolean isIndexed() { return isIndexed; }
+    
+    /**
+     * Reads the current value of this constant.
+     *
+     * <p>The value is read via a static getter method handle, which is resolved once and then reused
+     * for all subsequent reads. If a lookup is provided, the getter is always resolved with its access
+     * rights (and only reused for lookups with the same lookup class and modes), even for indexed
+     * constants. Otherwise, indexed constants are read directly via their generated index, and any
+     * other constant via a private copy of the field made accessible via deep reflection.</p>
+     *
+     * @param lookup    lookup to resolve the getter with (or {@code null} to use deep reflection)
+     *
+     * @return the constant's value (or {@code null} if it's not yet initialized)
+     * @throws IllegalAccessException   if the getter cannot be resolved
+     */
+    @NullOr Object value(MethodHandles.@NullOr Lookup lookup) throws IllegalAccessException
+    {
+        MethodHandle getter = getter(lookup);
+        
+        try { return (Object) getter.invokeExact(); }
+        catch (RuntimeException | Error e) { throw e; }
+        catch (Throwable e) { throw new AggregationException(e); }
+    }
+    
+    /**
+     * Reads the current value of this constant without boxing it.
+     * The constant's {@link #type() type} must be {@code int}.
+     *
+     * @param lookup    lookup to resolve the getter with (or {@code null} to use deep reflection)
+     *
+     * @return the constant's value
+     * @throws IllegalAccessException   if the getter cannot be resolved
+     */
+    int intValue(MethodHandles.@NullOr Lookup lookup) throws IllegalAccessException
+    {
+        MethodHandle getter = exactGetter(lookup);
+        
+        try { return (int) getter.invokeExact(); }
+        catch (RuntimeException | Error e) { throw e; }
+        catch (Throwable e) { throw new AggregationException(e); }
+    }
+    
+    /**
+     * Reads the current value of this constant without boxing it.
+     * The constant's {@link #type() type} must be {@code long}.
+     *
+     * @param lookup    lookup to resolve the getter with (or {@code null} to use deep reflection)
+     *
+     * @return the constant's value
+     * @throws IllegalAccessException   if the getter cannot be resolved
+     */
+    long longValue(MethodHandles.@NullOr Lookup lookup) throws IllegalAccessException
+    {
+        MethodHandle getter = exactGetter(lookup);
+        
+        try { return (long) getter.invokeExact(); }
+        catch (RuntimeException | Error e) { throw e; }
+        catch (Throwable e) { throw new AggregationException(e); }
+    }
+    
+    /**
+     * Reads the current value of this constant without boxing it.
+     * The constant's {@link #type() type} must be {@code double}.
+     *
+     * @param lookup    lookup to resolve the getter with (or {@code null} to use deep reflection)
+     *
+     * @return the constant's value
+     * @throws IllegalAccessException   if the getter cannot be resolved
+     */
+    double doubleValue(MethodHandles.@NullOr Lookup lookup) throws IllegalAccessException
+    {
+        MethodHandle getter = exactGetter(lookup);
+        
+        try { return (double) getter.invokeExact(); }
+        catch (RuntimeException | Error e) { throw e; }
+        catch (Throwable e) { throw new AggregationException(e); }
+    }
+    
+    private MethodHandle getter(MethodHandles.@NullOr Lookup lookup) throws IllegalAccessException
+    {
+        // Indexes grant the library's own access, so a caller's lookup always resolves its own getter.
+        if (lookup != null) { return lookupGetters(lookup).getter; }
+        
+        @NullOr MethodHandle resolved = getter;
+        if (resolved != null) { return resolved; }
+        
+        // Benign race: concurrent resolutions produce equivalent getters.
+        return getter = exactGetter(null).asType(MethodType.methodType(Object.class));
+    }
+    
+    // Resolves a getter typed exactly as the field (indexed constants resolve theirs up front).
+    private MethodHandle exactGetter(MethodHandles.@NullOr Lookup lookup) throws IllegalAccessException
+    {
+        if (lookup != null) { return lookupGetters(lookup).exactGetter; }
+        
+        @NullOr MethodHandle resolved = exactGetter;
+        if (resolved != null) { return resolved; }
+        
+        // Only a private copy of the field is made accessible, which is never handed out to callers.
+        Field copy;
+        
+        try { copy = source.getDeclaredField(name); }
+        catch (NoSuchFieldException e) { throw new IllegalStateException("Outdated constant index: " + source, e); }
+        
+        copy.setAccessible(true);
+        return exactGetter = MethodHandles.lookup().unreflectGetter(copy);
+    }
+    
+    private LookupGetters lookupGetters(MethodHandles.Lookup lookup) throws IllegalAccessException
+    {
+        @NullOr LookupGetters resolved = lookupGetters;
+        if (resolved != null && resolved.isResolvedBy(lookup)) { return resolved; }
+        
+        // Unlike unreflecting the field, finding the getter never skips access checks.
+        try { return lookupGetters = new LookupGetters(lookup, lookup.findStaticGetter(source, name, type())); }
+        catch (NoSuchFieldException e) { throw new IllegalStateException("Outdated constant index: " + source, e); }
+    }
+    
+    // Descriptors live as long as their source class, so the lookup class (which may belong to
+    // a child class loader) is only weakly referenced.
+    private static final class LookupGetters
+    {
+        final WeakReference<Class<?>> lookupClass;
+        final int lookupModes;
+        final MethodHandle exactGetter;
+        final MethodHandle getter;
+        
+        LookupGetters(MethodHandles.Lookup lookup, MethodHandle exactGetter)
+        {
+            this.lookupClass = new WeakReference<>(lookup.lookupClass());
+            this.lookupModes = lookup.lookupModes();
+            this.exactGetter = exactGetter;
+            this.getter = exactGetter.asType(MethodType.methodType(Object.class));
+        }
+        
+        boolean isResolvedBy(MethodHandles.Lookup lookup)
+        {
+            return lookupClass.get() == lookup.lookupClass() && lookupModes == lookup.lookupModes();
+        }
+    }
+    
+    private static final class Reflected
+    {
+        final int modifiers;
+        final Type genericType;
+        final List<Annotation> annotations;
+        final @NullOr TypeCapture<?> lazyType;
+        
+        Reflected(Field field)
+        {
+            this.modifiers = field.getModifiers();
+            this.genericType = field.getGenericType();
+            this.annotations = List.of(field.getDeclaredAnnotations());
+            this.lazyType = lazyType(genericType);
+        }
+        
+        private static @NullOr TypeCapture<?> lazyType(Type type)
+        {
+            if (!(type instanceof ParameterizedType)) { return null; }
+            
+            Type raw = ((ParameterizedType) type).getRawType();
+            if (raw != LazyConstant.class && raw != Supplier.class) { return null; }
+            
+            return TypeCapture.type(type).generics().get(0);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.annotations.AggregatedResult;
+import com.rezzedup.util.constants.annotations.NotAggregated;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.List;
+
+/**
+ * A compile-time index of the constants eligible for aggregation within a source class.
+ *
+ * <p>Indexes are generated by {@link com.rezzedup.util.constants.processor.ConstantIndexProcessor}
+ * for classes declaring an {@link AggregatedResult} and contain direct references to every
+ * non-private constant not annotated with {@link AggregatedResult} or {@link NotAggregated}.
+ * When an index is present, {@link Aggregates} reads constants through it rather than
+ * scanning the source class via reflection.</p>
+ *
+ * <p>Generated indexes are package-private, so in a named module the source class's package must
+ * be opened to {@code com.rezzedup.util.constants} (e.g. {@code opens com.example.pkg to
+ * com.rezzedup.util.constants;}) for them to be used. Otherwise, aggregation falls back to
+ * reflection (logging a warning the first time).</p>
+ *
+ * <p><b>Note:</b> indexes are not intended to be implemented by hand.</p>
+ */
+public interface ConstantIndex
+{
+    /**
+     * Suffix appended to the binary name of a source class to form the name of its generated index.
+     */
+    String CLASS_NAME_SUFFIX = "$$ConstantIndex";
+    
+    /**
+     * Gets the source class, from which constants are indexed.
+     *
+     * @return the source class
+     */
+    Class<?> source();
+    
+    /**
+     * Gets the names of all indexed constants in declaration order.
+     *
+     * @return an immutable list of constant names
+     */
+    List<String> names();
+    
+    /**
+     * Gets the declared (erased) types of all indexed constants, in the same order as {@link #names()}.
+     *
+     * @return an immutable list of constant types
+     */
+    List<Class<?>> types();
+    
+    /**
+     * Reads the current value of an indexed constant.
+     *
+     * @param index     position of the constant within {@link #names()}
+     *
+     * @return the constant's value (or {@code null} if it's not yet initialized)
+     * @throws IndexOutOfBoundsException    if the index is out of range
+     */
+    @NullOr Object value(int index);
+    
+    /**
+     * Reads the current value of an indexed {@code int} constant without boxing it.
+     *
+     * @param index     position of the constant within {@link #names()}
+     *
+     * @return the constant's value
+     * @throws IllegalArgumentException     if the constant isn't declared as an {@code int}
+     *                                      (or the index is out of range)
+     */
+    int intValue(int index);
+    
+    /**
+     * Reads the current value of an indexed {@code long} constant without boxing it.
+     *
+     * @param index     position of the constant within {@link #names()}
+     *
+     * @return the constant's value
+     * @throws IllegalArgumentException     if the constant isn't declared as a {@code long}
+     *                                      (or the index is out of range)
+     */
+    long longValue(int index);
+    
+    /**
+     * Reads the current value of an indexed {@code double} constant without boxing it.
+     *
+     * @param index     position of the constant within {@link #names()}
+     *
+     * @return the constant's value
+     * @throws IllegalArgumentException     if the constant isn't declared as a {@code double}
+     *                                      (or the index is out of range)
+     */
+    double doubleValue(int index);
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.types.Primitives;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resolves aggregated constants by name into method handles that always return them.
+ *
+ * <p>Looking up a constant by name (such as via {@link AggregationQuery#toMap()}) costs a hash
+ * lookup on every call. Constant method handles instead resolve the name once, so storing one
+ * in a {@code static final} field (or linking it into a call site) lets the JIT compiler fold
+ * invocations into the constant itself, costing as much as reading a {@code static final} field.</p>
+ *
+ * <p>For example:</p>
+ *
+ * <pre>{@code
+ * static final ConstantLookup<Integer> CODES =
+ *     ConstantLookup.of(Aggregates.from(Codes.class).constantsOfType(Integer.class).compile());
+ *
+ * static final MethodHandle NOT_FOUND = CODES.handle("NOT_FOUND");
+ *
+ * int code = (int) (Integer) NOT_FOUND.invokeExact();
+ * }</pre>
+ *
+ * <p>Code generators can also link constants directly via {@code invokedynamic} with
+ * {@link #bootstrap(MethodHandles.Lookup, String, MethodType, Class)} or via dynamic
+ * constants with {@link #constant(MethodHandles.Lookup, String, Class, Class)}.</p>
+ *
+ * @param <T>   constant type
+ */
+public final class ConstantLookup<T>
+{
+    // Aggregations linked by bootstrap methods, so linking many call sites to the same source class
+    // (with the same caller and type) aggregates it only once.
+    static final AggregationCache LINKAGES = AggregationCache.create();
+    
+    /**
+     * Creates a lookup of all constants matching the query, by {@link Constant#path() path}.
+     * Constants are aggregated immediately.
+     *
+     * @param query     the query
+     * @param <T>       constant type
+     *
+     * @return a new lookup
+     * @throws IllegalStateException    if multiple constants share the same path
+     */
+    public static <T> ConstantLookup<T> of(AggregationQuery<T> query)
+    {
+        Objects.requireNonNull(query, "query");
+        return new ConstantLookup<>(query.toMap(), Primitives.boxed(query.type().raw()));
+    }
+    
+    /**
+     * Bootstraps an {@code invokedynamic} call site that returns the constant of the provided
+     * name from the source class. The call site is bound to the resolved value forever.
+     * Aggregations are cached per source class, type, and caller, so linking further
+     * call sites to the same source class doesn't aggregate it again.
+     *
+     * @param caller    lookup of the calling class, with access to the source class's constants
+     * @param name      the constant's name
+     * @param type      the call site's type, which takes no arguments and returns the constant's type
+     * @param source    the source class
+     *
+     * @return a constant call site bound to the constant's value
+     * @throws IllegalArgumentException     if the type takes arguments or the constant doesn't exist
+     */
+    public static CallSite bootstrap(MethodHandles.Lookup caller, String name, MethodType type, Class<?> source)
+    {
+        if (type.parameterCount() != 0)
+        {
+            throw new IllegalArgumentException("Call site must not take arguments: " + type);
+        }
+        
+        return new ConstantCallSite(linked(caller, type.returnType(), source).handle(name).asType(type));
+    }
+    
+    /**
+     * Bootstraps a dynamic constant ({@code CONSTANT_Dynamic}) resolving to the constant of the
+     * provided name from the source class. Aggregations are cached like with
+     * {@link #bootstrap(MethodHandles.Lookup, String, MethodType, Class)}.
+     *
+     * @param caller    lookup of the calling class, with access to the source class's constants
+     * @param name      the constant's name
+     * @param type      the constant's type
+     * @param source    the source class
+     *
+     * @return the constant's value
+     * @throws IllegalArgumentException     if the constant doesn't exist
+     */
+    public static Object constant(MethodHandles.Lookup caller, String name, Class<?> type, Class<?> source)
+    {
+        return linked(caller, type, source).get(name);
+    }
+    
+    private static ConstantLookup<?> linked(MethodHandles.Lookup caller, Class<?> type, Class<?> source)
+    {
+        return of(Aggregates.from(source, caller).constantsOfType(type).cached(LINKAGES).compile());
+    }
+    
+    private final Map<String, Constant<T>> constants;
+    private final Class<?> type;
+    
+    private ConstantLookup(Map<String, Constant<T>> constants, Class<?> type)
+    {
+        this.constants = constants;
+        this.type = type;
+    }
+    
+    private Constant<T> constant(String path)
+    {
+        @NullOr Constant<T> constant = constants.get(Objects.requireNonNull(path, "path"));
+        if (constant == null) { throw new IllegalArgumentException("No such constant: " + path); }
+        return constant;
+    }
+    
+    /**
+     * Gets the value of a constant.
+     *
+     * @param path  the constant's path
+     *
+     * @return the constant's value
+     * @throws IllegalArgumentException     if the constant doesn't exist
+     */
+    public T get(String path)
+    {
+        return constant(path).value();
+    }
+    
+    /**
+     * Creates a method handle that always returns the value of a constant. The handle takes no
+     * arguments and returns the (boxed) raw constant type, so it can be invoked exactly with a
+     * cast to that type.
+     *
+     * @param path  the constant's path
+     *
+     * @return a constant method handle
+     * @throws IllegalArgumentException     if the constant doesn't exist
+     */
+    public MethodHandle handle(String path)
+    {
+        return MethodHandles.constant(type, get(path));
+    }
+    
+    /**
+     * Creates a call site permanently bound to the value of a constant.
+     *
+     * @param path  the constant's path
+     *
+     * @return a constant call site
+     * @throws IllegalArgumentException     if the constant doesn't exist
+     * @see #handle(String)
+     */
+    public ConstantCallSite callSite(String path)
+    {
+        return new ConstantCallSite(handle(path));
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "ConstantLookup{" +
+            "type=" + type.getName() + ", " +
+            "constants=" + constants.keySet() +
+            '}';
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map keyed by constants from a single aggregation, akin to {@link java.util.EnumMap}.
+ *
+ * <p>Values are stored within an array indexed by {@link Constant#ordinal() ordinal}, so lookups
+ * never hash or compare keys. Iteration follows aggregation order. Null values aren't permitted.</p>
+ *
+ * <p>Like {@code EnumMap}, constant maps are mutable and not thread-safe.</p>
+ *
+ * @param <T>   constant type
+ * @param <V>   value type
+ */
+public final class ConstantMap<T, V> extends AbstractMap<Constant<T>, V>
+{
+    /**
+     * Creates an empty map keyed by constants of the query.
+     *
+     * @param query     the query
+     * @param <T>       constant type
+     * @param <V>       value type
+     *
+     * @return a new, empty map
+     */
+    public static <T, V> ConstantMap<T, V> create(AggregationQuery<T> query)
+    {
+        return new ConstantMap<>(query.universe());
+    }
+    
+    private final ConstantUniverse<T> universe;
+    private final @NullOr Object[] values;
+    private int size = 0;
+    private int modifications = 0;
+    
+    private ConstantMap(ConstantUniverse<T> universe)
+    {
+        this.universe = universe;
+        this.values = new Object[universe.size()];
+    }
+    
+    @Override
+    public int size() { return size; }
+    
+    @Override
+    public boolean containsKey(@NullOr Object key)
+    {
+        int ordinal = universe.ordinal(key);
+        return ordinal >= 0 && values[ordinal] != null;
+    }
+    
+    @Override
+    public boolean containsValue(@NullOr Object value)
+    {
+        if (value == null) { return false; }
+        for (@NullOr Object existing : values) { if (value.equals(existing)) { return true; } }
+        return false;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public @NullOr V get(@NullOr Object key)
+    {
+        int ordinal = universe.ordinal(key);
+        return (ordinal < 0) ? null : (V) values[ordinal];
+    }
+    
+    /**
+     * Associates the value with a constant.
+     *
+     * @param key       the constant
+     * @param value     the value
+     *
+     * @return the previous value, or {@code null} if there was none
+     * @throws IllegalArgumentException     if the constant isn't part of this map's aggregation
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public @NullOr V put(Constant<T> key, V value)
+    {
+        int ordinal = universe.require(Objects.requireNonNull(key, "key"));
+        @NullOr Object previous = values[ordinal];
+        values[ordinal] = Objects.requireNonNull(value, "value");
+        
+        if (previous == null)
+        {
+            size++;
+            modifications++;
+        }
+        
+        return (V) previous;
+    }
+    
+    @Override
+    public @NullOr V remove(@NullOr Object key)
+    {
+        int ordinal = universe.ordinal(key);
+        return (ordinal < 0) ? null : removeAt(ordinal);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private @NullOr V removeAt(int ordinal)
+    {
+        @NullOr Object previous = values[ordinal];
+        values[ordinal] = null;
+        
+        if (previous != null)
+        {
+            size--;
+            modifications++;
+        }
+        
+        return (V) previous;
+    }
+    
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, null);
+        size = 0;
+        modifications++;
+    }
+    
+    @Override
+    public Set<Entry<Constant<T>, V>> entrySet()
+    {
+        return new AbstractSet<>()
+        {
+            @Override
+            public Iterator<Entry<Constant<T>, V>> iterator()
+            {
+                return new Iterator<>()
+                {
+                    int next = nextOrdinal(0);
+                    int last = -1;
+                    int expectedModifications = modifications;
+                    
+                    @Override
+                    public boolean hasNext() { return next < values.length; }
+                    
+                    @Override
+                    public Entry<Constant<T>, V> next()
+                    {
+                        if (modifications != expectedModifications) { throw new ConcurrentModificationException(); }
+                        if (next >= values.length) { throw new NoSuchElementException(); }
+                        
+                        last = next;
+                        next = nextOrdinal(next + 1);
+                        return new OrdinalEntry(last);
+                    }
+                    
+                    @Override
+                    public void remove()
+                    {
+                        if (last < 0) { throw new IllegalStateException(); }
+                        if (modifications != expectedModifications) { throw new ConcurrentModificationException(); }
+                        
+                        removeAt(last);
+                        last = -1;
+                        expectedModifications = modifications;
+                    }
+                };
+            }
+            
+            @Override
+            public int size() { return size; }
+        };
+    }
+    
+    // Finds the next ordinal with a value at or after the index, or the length of the values array if there are none.
+    private int nextOrdinal(int index)
+    {
+        while (index < values.length && values[index] == null) { index++; }
+        return index;
+    }
+    
+    // Writes through to the map, like EnumMap's entries.
+    private final class OrdinalEntry implements Entry<Constant<T>, V>
+    {
+        private final int ordinal;
+        
+        OrdinalEntry(int ordinal)
+        {
+            this.ordinal = ordinal;
+        }
+        
+        @Override
+        public Constant<T> getKey() { return universe.get(ordinal); }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue()
+        {
+            @NullOr Object value = values[ordinal];
+            if (value == null) { throw new IllegalStateException("Entry was removed"); }
+            return (V) value;
+        }
+        
+        @Override
+        public V setValue(V value)
+        {
+            V previous = getValue();
+            values[ordinal] = Objects.requireNonNull(value, "value");
+            return previous;
+        }
+        
+        @Override
+        public boolean equals(@NullOr Object o)
+        {
+            if (this == o) { return true; }
+            if (!(o instanceof Map.Entry)) { return false; }
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            return getKey().equals(that.getKey()) && getValue().equals(that.getValue());
+        }
+        
+        @Override
+        public int hashCode() { return getKey().hashCode() ^ getValue().hashCode(); }
+        
+        @Override
+        public String toString() { return getKey().path() + "=" + getValue(); }
+    }
+}
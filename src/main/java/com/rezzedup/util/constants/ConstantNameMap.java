@@ -0,0 +1,313 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable map of constants by name, akin to {@code Enum.valueOf(String)}.
+ *
+ * <p>Constants are stored in aggregation order within a single array, indexed by a minimal
+ * perfect hash of their names (hash, displace, and compress). Names are first hashed into
+ * buckets of about two names each, and each bucket stores a seed that displaces its names
+ * into distinct slots. Looking up a name therefore costs one (cached) string hash and a single
+ * string comparison, with no probing. The map holds three reference arrays (the constants in
+ * aggregation order, and the constants and their names reordered by slot) plus one {@code int}
+ * seed per bucket: about 14 bytes per constant with compressed references (26 without),
+ * compared to about 40 bytes per entry in a {@code HashMap}. Pathological names (many sharing
+ * the same hash code) are rehashed with a randomly salted hash of their characters. Iteration
+ * follows aggregation order.</p>
+ *
+ * <p>Constants are keyed by their {@link Constant#path() path}, which is just their name
+ * unless they were aggregated from nested classes.</p>
+ *
+ * @param <T>   constant type
+ */
+final class ConstantNameMap<T> extends AbstractMap<String, Constant<T>>
+{
+    /**
+     * Creates a map from the provided constants in a single pass.
+     *
+     * @param constants     the constants
+     * @param <T>           constant type
+     *
+     * @return an immutable map of the constants by name
+     * @throws IllegalStateException    if multiple constants share the same name
+     */
+    static <T> ConstantNameMap<T> of(Iterator<Constant<T>> constants)
+    {
+        @SuppressWarnings("unchecked")
+        Constant<T>[] ordered = (Constant<T>[]) new Constant<?>[8];
+        int size = 0;
+        
+        while (constants.hasNext())
+        {
+            if (size == ordered.length) { ordered = Arrays.copyOf(ordered, size * 2); }
+            ordered[size++] = constants.next();
+        }
+        
+        return new ConstantNameMap<>(Arrays.copyOf(ordered, size));
+    }
+    
+    /**
+     * Creates a map from the provided constants, which must never be modified afterwards.
+     *
+     * @param constants     the constants
+     * @param <T>           constant type
+     *
+     * @return an immutable map of the constants by name
+     * @throws IllegalStateException    if multiple constants share the same name
+     */
+    static <T> ConstantNameMap<T> of(Constant<T>[] constants)
+    {
+        return new ConstantNameMap<>(constants);
+    }
+    
+    // Seeds with this bit set displace names by a secondary hash of their characters,
+    // separating names that share the same String.hashCode().
+    private static final int FULL_HASH = 1 << 30;
+    private static final int MAX_SEED = FULL_HASH - 1;
+    
+    // Seeds tried per bucket before giving up on the current hash function.
+    private static final int MAX_ATTEMPTS = 1 << 16;
+    private static final int MAX_SALTS = 8;
+    
+    private final Constant<T>[] constants;
+    // Per bucket: a seed (>= 0), or a slot encoded as -(slot + 1) for buckets containing a single name.
+    private final int[] seeds;
+    // Per slot: its constant and name.
+    private final Constant<T>[] slots;
+    private final String[] names;
+    // Zero to hash names with String.hashCode(), otherwise the salt of a secondary hash (for pathological names).
+    private final int salt;
+    
+    private ConstantNameMap(Constant<T>[] constants)
+    {
+        this.constants = constants;
+        this.seeds = new int[Math.max(1, (constants.length + 1) / 2)];
+        this.slots = Arrays.copyOf(constants, constants.length);
+        this.names = new String[constants.length];
+        
+        int salt = 0;
+        
+        for (int attempt = 0; !index(salt); attempt++)
+        {
+            // Many names share a hash code (such as combinations of "Aa" and "BB"), so rehash them all.
+            if (attempt == MAX_SALTS) { throw new IllegalStateException("Could not index constant names"); }
+            salt = ThreadLocalRandom.current().nextInt() | 1;
+        }
+        
+        this.salt = salt;
+        for (int i = 0; i < slots.length; i++) { names[i] = slots[i].path(); }
+    }
+    
+    // Builds the index using the salt, returning whether it succeeded.
+    private boolean index(int salt)
+    {
+        int size = constants.length;
+        
+        // Group positions by bucket (counting sort).
+        int[] starts = new int[seeds.length + 1];
+        int[] bucketOf = new int[size];
+        
+        for (int i = 0; i < size; i++)
+        {
+            bucketOf[i] = reduce(mix(hash(constants[i].path(), salt)), seeds.length);
+            starts[bucketOf[i] + 1]++;
+        }
+        
+        int largest = 0;
+        
+        for (int b = 0; b < seeds.length; b++)
+        {
+            largest = Math.max(largest, starts[b + 1]);
+            starts[b + 1] += starts[b];
+        }
+        
+        int[] members = new int[size];
+        int[] filled = Arrays.copyOf(starts, seeds.length);
+        for (int i = 0; i < size; i++) { members[filled[bucketOf[i]]++] = i; }
+        
+        // Place larger buckets first, while most slots are still free.
+        boolean[] isTaken = new boolean[size];
+        int[] candidates = new int[largest];
+        int nextFree = 0;
+        
+        for (int length = largest; length >= 1; length--)
+        {
+            for (int b = 0; b < seeds.length; b++)
+            {
+                int start = starts[b];
+                if (starts[b + 1] - start != length) { continue; }
+                
+                if (length == 1)
+                {
+                    while (isTaken[nextFree]) { nextFree++; }
+                    isTaken[nextFree] = true;
+                    slots[nextFree] = constants[members[start]];
+                    seeds[b] = -(nextFree + 1);
+                    continue;
+                }
+                
+                int seed = displace(members, start, length, candidates, isTaken, salt);
+                if (seed < 0) { return false; }
+                seeds[b] = seed;
+                
+                for (int m = 0; m < length; m++)
+                {
+                    isTaken[candidates[m]] = true;
+                    slots[candidates[m]] = constants[members[start + m]];
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    // Finds a seed placing every name of the bucket into distinct, free slots, or returns -1 if there's none.
+    private int displace(int[] members, int start, int length, int[] candidates, boolean[] isTaken, int salt)
+    {
+        boolean isFullHash = false;
+        
+        for (int m = 0; m < length; m++)
+        {
+            String name = constants[members[start + m]].path();
+            
+            for (int o = 0; o < m; o++)
+            {
+                String other = constants[members[start + o]].path();
+                
+                if (name.equals(other)) { throw new IllegalStateException("Duplicate constant name: " + name); }
+                if (hash(name, salt) == hash(other, salt)) { isFullHash = true; }
+            }
+        }
+        
+        search:
+        for (int seed = 0; seed < MAX_ATTEMPTS; seed++)
+        {
+            int encoded = (isFullHash) ? seed | FULL_HASH : seed;
+            
+            for (int m = 0; m < length; m++)
+            {
+                int slot = slot(constants[members[start + m]].path(), encoded, salt);
+                if (isTaken[slot]) { continue search; }
+                
+                for (int o = 0; o < m; o++) { if (candidates[o] == slot) { continue search; } }
+                candidates[m] = slot;
+            }
+            
+            return encoded;
+        }
+        
+        return -1;
+    }
+    
+    // Fibonacci hashing: spreads low bits of the hash into the high bits used by reduce().
+    private static int mix(int hash)
+    {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    // Maps a hash onto [0, range) without division.
+    private static int reduce(int hash, int range)
+    {
+        return (int) (((hash & 0xFFFFFFFFL) * range) >>> 32);
+    }
+    
+    // FNV-1a over the name's characters.
+    private static int fullHash(String name, int salt)
+    {
+        int hash = 0x811C9DC5 ^ salt;
+        for (int i = 0; i < name.length(); i++) { hash = (hash ^ name.charAt(i)) * 0x01000193; }
+        return hash;
+    }
+    
+    private static int hash(String name, int salt)
+    {
+        return (salt == 0) ? name.hashCode() : fullHash(name, salt);
+    }
+    
+    private int slot(String name, int seed, int salt)
+    {
+        int mixed = mix(((seed & FULL_HASH) == 0) ? hash(name, salt) : fullHash(name, ~salt));
+        return slot(mixed, seed);
+    }
+    
+    // Derives the slot from the same mixed hash that selected the bucket, so lookups only mix once.
+    private int slot(int mixed, int seed)
+    {
+        return reduce((mixed ^ ((seed & MAX_SEED) + 1) * 0x9E3779B9) * 0x27D4EB2F, slots.length);
+    }
+    
+    @Override
+    public @NullOr Constant<T> get(@NullOr Object key)
+    {
+        if (!(key instanceof String) || slots.length == 0) { return null; }
+        
+        String name = (String) key;
+        int mixed = mix(hash(name, salt));
+        int seed = seeds[reduce(mixed, seeds.length)];
+        
+        int slot;
+        
+        if (seed < 0) { slot = -seed - 1; }
+        else if ((seed & FULL_HASH) == 0) { slot = slot(mixed, seed); }
+        else { slot = slot(name, seed, salt); }
+        
+        return (names[slot].equals(name)) ? slots[slot] : null;
+    }
+    
+    @Override
+    public boolean containsKey(@NullOr Object key)
+    {
+        return get(key) != null;
+    }
+    
+    @Override
+    public int size() { return constants.length; }
+    
+    @Override
+    public Set<Entry<String, Constant<T>>> entrySet()
+    {
+        return new AbstractSet<>()
+        {
+            @Override
+            public Iterator<Entry<String, Constant<T>>> iterator()
+            {
+                return new Iterator<>()
+                {
+                    int next = 0;
+                    
+                    @Override
+                    public boolean hasNext() { return next < constants.length; }
+                    
+                    @Override
+                    public Entry<String, Constant<T>> next()
+                    {
+                        if (!hasNext()) { throw new NoSuchElementException(); }
+                        Constant<T> constant = constants[next++];
+                        return Map.entry(constant.path(), constant);
+                    }
+                };
+            }
+            
+            @Override
+            public int size() { return constants.length; }
+        };
+    }
+}
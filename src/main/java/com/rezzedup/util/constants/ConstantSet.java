@@ -0,0 +1,346 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A set of constants from a single aggregation, akin to {@link java.util.EnumSet}.
+ *
+ * <p>Sets are represented as bit vectors indexed by {@link Constant#ordinal() ordinal}, so checking
+ * membership is a single bit test, and bulk operations between sets of the same aggregation
+ * (such as {@link #union(ConstantSet)} and {@link #intersection(ConstantSet)}) operate on whole
+ * words at a time. Iteration follows aggregation order.</p>
+ *
+ * <p>For example:</p>
+ *
+ * <pre>{@code
+ * static final AggregationQuery<String> PERMISSIONS =
+ *     Aggregates.from(Permissions.class).constantsOfType(String.class).cached(CACHE).compile();
+ *
+ * ConstantSet<String> granted = ConstantSet.noneOf(PERMISSIONS);
+ * }</pre>
+ *
+ * <p>Like {@code EnumSet}, constant sets are mutable and not thread-safe.</p>
+ *
+ * @param <T>   constant type
+ */
+public final class ConstantSet<T> extends AbstractSet<Constant<T>>
+{
+    /**
+     * Creates an empty set for constants of the query.
+     *
+     * @param query     the query
+     * @param <T>       constant type
+     *
+     * @return a new, empty set
+     */
+    public static <T> ConstantSet<T> noneOf(AggregationQuery<T> query)
+    {
+        return new ConstantSet<>(query.universe());
+    }
+    
+    /**
+     * Creates a set containing all constants of the query.
+     *
+     * @param query     the query
+     * @param <T>       constant type
+     *
+     * @return a new set containing every applicable constant
+     */
+    public static <T> ConstantSet<T> allOf(AggregationQuery<T> query)
+    {
+        ConstantSet<T> set = noneOf(query);
+        set.fill();
+        return set;
+    }
+    
+    private final ConstantUniverse<T> universe;
+    private final long[] words;
+    private int modifications = 0;
+    
+    private ConstantSet(ConstantUniverse<T> universe)
+    {
+        this.universe = universe;
+        this.words = new long[(universe.size() + 63) >>> 6];
+    }
+    
+    private ConstantSet(ConstantSet<T> set)
+    {
+        this.universe = set.universe;
+        this.words = set.words.clone();
+    }
+    
+    private void fill()
+    {
+        Arrays.fill(words, -1L);
+        trim();
+    }
+    
+    // Clears bits beyond the last ordinal.
+    private void trim()
+    {
+        int remainder = universe.size() & 63;
+        if (remainder != 0) { words[words.length - 1] &= (1L << remainder) - 1; }
+    }
+    
+    private boolean isCompatible(@NullOr Object other)
+    {
+        return other instanceof ConstantSet && ((ConstantSet<?>) other).universe == universe;
+    }
+    
+    /**
+     * Creates a copy of this set.
+     *
+     * @return a new set containing the same constants
+     */
+    public ConstantSet<T> copy()
+    {
+        return new ConstantSet<>(this);
+    }
+    
+    /**
+     * Creates a new set containing constants from both this and the other set.
+     *
+     * @param other     the other set
+     *
+     * @return a new set containing the union
+     * @throws IllegalArgumentException     if the other set contains constants from a different aggregation
+     */
+    public ConstantSet<T> union(ConstantSet<T> other)
+    {
+        ConstantSet<T> union = copy();
+        union.addAll(other);
+        return union;
+    }
+    
+    /**
+     * Creates a new set containing only constants present in both this and the other set.
+     *
+     * @param other     the other set
+     *
+     * @return a new set containing the intersection
+     */
+    public ConstantSet<T> intersection(ConstantSet<T> other)
+    {
+        ConstantSet<T> intersection = copy();
+        intersection.retainAll(other);
+        return intersection;
+    }
+    
+    /**
+     * Creates a new set containing all constants of the aggregation that aren't in this set.
+     *
+     * @return a new set containing the complement
+     */
+    public ConstantSet<T> complement()
+    {
+        ConstantSet<T> complement = copy();
+        for (int i = 0; i < words.length; i++) { complement.words[i] = ~words[i]; }
+        complement.trim();
+        return complement;
+    }
+    
+    @Override
+    public boolean contains(@NullOr Object object)
+    {
+        int ordinal = universe.ordinal(object);
+        return ordinal >= 0 && (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+    
+    /**
+     * Adds a constant to this set.
+     *
+     * @param constant  the constant
+     *
+     * @return {@code true} if the set changed, otherwise {@code false}
+     * @throws IllegalArgumentException     if the constant isn't part of this set's aggregation
+     */
+    @Override
+    public boolean add(Constant<T> constant)
+    {
+        int ordinal = universe.require(Objects.requireNonNull(constant, "constant"));
+        long word = words[ordinal >>> 6];
+        words[ordinal >>> 6] = word | (1L << ordinal);
+        return changed(word != words[ordinal >>> 6]);
+    }
+    
+    @Override
+    public boolean remove(@NullOr Object object)
+    {
+        int ordinal = universe.ordinal(object);
+        if (ordinal < 0) { return false; }
+        
+        long word = words[ordinal >>> 6];
+        words[ordinal >>> 6] = word & ~(1L << ordinal);
+        return changed(word != words[ordinal >>> 6]);
+    }
+    
+    private boolean changed(boolean isChanged)
+    {
+        if (isChanged) { modifications++; }
+        return isChanged;
+    }
+    
+    @Override
+    public boolean containsAll(Collection<?> collection)
+    {
+        if (!isCompatible(collection)) { return super.containsAll(collection); }
+        
+        long[] others = ((ConstantSet<?>) collection).words;
+        for (int i = 0; i < words.length; i++) { if ((others[i] & ~words[i]) != 0) { return false; } }
+        return true;
+    }
+    
+    @Override
+    public boolean addAll(Collection<? extends Constant<T>> collection)
+    {
+        if (!isCompatible(collection)) { return super.addAll(collection); }
+        
+        long[] others = ((ConstantSet<?>) collection).words;
+        boolean isChanged = false;
+        
+        for (int i = 0; i < words.length; i++)
+        {
+            long word = words[i];
+            words[i] |= others[i];
+            isChanged |= word != words[i];
+        }
+        
+        return changed(isChanged);
+    }
+    
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        if (!isCompatible(collection)) { return super.retainAll(collection); }
+        
+        long[] others = ((ConstantSet<?>) collection).words;
+        boolean isChanged = false;
+        
+        for (int i = 0; i < words.length; i++)
+        {
+            long word = words[i];
+            words[i] &= others[i];
+            isChanged |= word != words[i];
+        }
+        
+        return changed(isChanged);
+    }
+    
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        if (!isCompatible(collection)) { return super.removeAll(collection); }
+        
+        long[] others = ((ConstantSet<?>) collection).words;
+        boolean isChanged = false;
+        
+        for (int i = 0; i < words.length; i++)
+        {
+            long word = words[i];
+            words[i] &= ~others[i];
+            isChanged |= word != words[i];
+        }
+        
+        return changed(isChanged);
+    }
+    
+    @Override
+    public void clear()
+    {
+        Arrays.fill(words, 0L);
+        modifications++;
+    }
+    
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for (long word : words) { size += Long.bitCount(word); }
+        return size;
+    }
+    
+    @Override
+    public boolean isEmpty()
+    {
+        for (long word : words) { if (word != 0) { return false; } }
+        return true;
+    }
+    
+    @Override
+    public Iterator<Constant<T>> iterator()
+    {
+        return new Iterator<>()
+        {
+            int next = nextOrdinal(0);
+            int last = -1;
+            int expectedModifications = modifications;
+            
+            @Override
+            public boolean hasNext() { return next >= 0; }
+            
+            @Override
+            public Constant<T> next()
+            {
+                if (modifications != expectedModifications) { throw new ConcurrentModificationException(); }
+                if (next < 0) { throw new NoSuchElementException(); }
+                
+                last = next;
+                next = nextOrdinal(next + 1);
+                return universe.get(last);
+            }
+            
+            @Override
+            public void remove()
+            {
+                if (last < 0) { throw new IllegalStateException(); }
+                if (modifications != expectedModifications) { throw new ConcurrentModificationException(); }
+                
+                words[last >>> 6] &= ~(1L << last);
+                last = -1;
+                expectedModifications = ++modifications;
+            }
+        };
+    }
+    
+    // Finds the next set ordinal at or after the index, or -1 if there are none.
+    private int nextOrdinal(int index)
+    {
+        int word = index >>> 6;
+        if (word >= words.length) { return -1; }
+        
+        long bits = words[word] & (-1L << index);
+        
+        while (true)
+        {
+            if (bits != 0) { return (word << 6) + Long.numberOfTrailingZeros(bits); }
+            if (++word >= words.length) { return -1; }
+            bits = words[word];
+        }
+    }
+    
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (isCompatible(o)) { return Arrays.equals(words, ((ConstantSet<?>) o).words); }
+        return super.equals(o);
+    }
+    
+    @Override
+    public int hashCode() { return super.hashCode(); }
+}
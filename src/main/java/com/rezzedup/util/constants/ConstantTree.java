@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.annotations.NotAggregated;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cached aggregated constant fields of a class and all its nested classes, recursively.
+ *
+ * <p>The tree is walked once per root class and stored in a {@link ClassValue}, so repeated
+ * aggregations never reflect over nested classes again. Fields are flattened in pre-order:
+ * a class's own constants come first, followed by those of each nested class in order of their
+ * names (since the order of {@link Class#getDeclaredClasses()} is unspecified). Nested classes
+ * annotated with {@link NotAggregated} are skipped, along with everything nested within them.</p>
+ */
+final class ConstantTree
+{
+    private static final ClassValue<ConstantTree> DECLARED = new ClassValue<>()
+    {
+        @Override
+        protected ConstantTree computeValue(Class<?> type) { return new ConstantTree(type, false); }
+    };
+    
+    private static final ClassValue<ConstantTree> INHERITED = new ClassValue<>()
+    {
+        @Override
+        protected ConstantTree computeValue(Class<?> type) { return new ConstantTree(type, true); }
+    };
+    
+    /**
+     * Gets the cached tree of constants beneath the provided root class.
+     *
+     * @param root          the root class
+     * @param inherited     whether each class of the tree includes its inherited constants
+     *
+     * @return the root's constant tree
+     * @see ConstantField#inheritedIn(Class)
+     */
+    static ConstantTree of(Class<?> root, boolean inherited)
+    {
+        return (inherited) ? INHERITED.get(root) : DECLARED.get(root);
+    }
+    
+    private final List<Class<?>> classes;
+    private final List<ConstantField> fields;
+    private final List<String> paths;
+    
+    private ConstantTree(Class<?> root, boolean inherited)
+    {
+        List<Class<?>> classes = new ArrayList<>();
+        List<ConstantField> fields = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        
+        walk(root, "", inherited, classes, fields, paths);
+        
+        this.classes = List.copyOf(classes);
+        this.fields = List.copyOf(fields);
+        this.paths = List.copyOf(paths);
+    }
+    
+    private static void walk(
+        Class<?> type,
+        String prefix,
+        boolean inherited,
+        List<Class<?>> classes,
+        List<ConstantField> fields,
+        List<String> paths
+    )
+    {
+        classes.add(type);
+        
+        for (ConstantField field : (inherited) ? ConstantField.inheritedIn(type) : ConstantField.aggregatedIn(type))
+        {
+            fields.add(field);
+            paths.add(prefix + field.name());
+        }
+        
+        Class<?>[] nested = type.getDeclaredClasses();
+        Arrays.sort(nested, Comparator.comparing(Class::getName));
+        
+        for (Class<?> child : nested)
+        {
+            if (child.isSynthetic() || child.isAnnotationPresent(NotAggregated.class)) { continue; }
+            walk(child, prefix + child.getSimpleName() + ".", inherited, classes, fields, paths);
+        }
+    }
+    
+    /**
+     * Gets all classes within the tree, including its root.
+     *
+     * @return an immutable list of classes in pre-order
+     */
+    List<Class<?>> classes() { return classes; }
+    
+    /**
+     * Gets all aggregated constant fields within the tree.
+     *
+     * @return an immutable list of constant fields in pre-order
+     */
+    List<ConstantField> fields() { return fields; }
+    
+    /**
+     * Gets the paths of all aggregated constant fields within the tree, relative to its root.
+     *
+     * @return an immutable list of paths, positioned like their {@link #fields() fields}
+     */
+    List<String> paths() { return paths; }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+/**
+ * All constants of an aggregation indexed by ordinal, akin to {@code Enum.values()}.
+ *
+ * @param <T>   constant type
+ */
+final class ConstantUniverse<T>
+{
+    // The constants must never be modified afterwards.
+    static <T> ConstantUniverse<T> of(Constant<T>[] constants)
+    {
+        for (int i = 0; i < constants.length; i++)
+        {
+            if (constants[i].ordinal() != i)
+            {
+                throw new IllegalStateException("Constant " + constants[i].name() + " is out of order: " + i);
+            }
+        }
+        
+        return new ConstantUniverse<>(constants);
+    }
+    
+    private final Constant<T>[] constants;
+    
+    private ConstantUniverse(Constant<T>[] constants)
+    {
+        this.constants = constants;
+    }
+    
+    int size() { return constants.length; }
+    
+    Constant<T> get(int ordinal) { return constants[ordinal]; }
+    
+    /**
+     * Gets the ordinal of an object if it's a constant within this universe.
+     * Constants are matched by {@link Constant equality} (since uncached aggregations
+     * create new constant instances every time).
+     *
+     * @param object    the possible constant
+     *
+     * @return the constant's ordinal, or {@code -1} if it isn't part of this universe
+     */
+    int ordinal(@NullOr Object object)
+    {
+        if (!(object instanceof Constant)) { return -1; }
+        
+        Constant<?> constant = (Constant<?>) object;
+        int ordinal = constant.ordinal();
+        
+        if (ordinal < 0 || ordinal >= constants.length) { return -1; }
+        
+        return (constants[ordinal].equals(constant)) ? ordinal : -1;
+    }
+    
+    /**
+     * Gets the ordinal of a constant within this universe, failing if it isn't a part of it.
+     *
+     * @param constant  the constant
+     *
+     * @return the constant's ordinal
+     * @throws IllegalArgumentException     if the constant isn't part of this universe
+     */
+    int require(Constant<?> constant)
+    {
+        int ordinal = ordinal(constant);
+        if (ordinal < 0) { throw new IllegalArgumentException("Not part of this aggregation: " + constant.name()); }
+        return ordinal;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.types.Cast;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, lazy view of aggregated constant values.
+ *
+ * <p>Values are stored as a sequence of segments rather than being copied into a single list.
+ * Collection and array constants whose elements all match the constant type are exposed directly,
+ * so their elements are never copied, cast, or wrapped individually (beyond boxing elements of
+ * primitive arrays on access). Lazy constants are only resolved once their values are accessed.
+ * The exact size is known up front.</p>
+ *
+ * @param <T>   constant type
+ */
+final class ConstantValues<T> extends AbstractList<T> implements RandomAccess
+{
+    // Each segment is either an Object[] or a random-access List (including resolving views of lazy constants).
+    private final Object[] segments;
+    // Cumulative end index (exclusive) of each segment.
+    private final int[] ends;
+    private final int size;
+    
+    private ConstantValues(Object[] segments, int[] ends)
+    {
+        this.segments = segments;
+        this.ends = ends;
+        this.size = (ends.length == 0) ? 0 : ends[ends.length - 1];
+    }
+    
+    @Override
+    public int size() { return size; }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        
+        int segment = Arrays.binarySearch(ends, index);
+        segment = (segment < 0) ? -segment - 1 : segment + 1;
+        
+        int start = (segment == 0) ? 0 : ends[segment - 1];
+        Object values = segments[segment];
+        
+        if (values instanceof Object[]) { return (T) ((Object[]) values)[index - start]; }
+        return (T) ((List<?>) values).get(index - start);
+    }
+    
+    /**
+     * Builds views of constant values, excluding values that aren't instances of the constant type.
+     *
+     * @param <T>   constant type
+     */
+    static final class Builder<T>
+    {
+        private final Cast.Caster<?> type;
+        private final List<Object> segments = new ArrayList<>();
+        private final List<Object> pending = new ArrayList<>();
+        private boolean isPendingLazy = false;
+        private int[] ends = new int[8];
+        private int size = 0;
+        
+        Builder(Class<?> type)
+        {
+            this.type = Cast.caster(type);
+        }
+        
+        /**
+         * Adds a single value if it's an instance of the constant type.
+         *
+         * @param value     the value
+         */
+        void add(@NullOr Object value)
+        {
+            if (!type.test(value)) { return; }
+            if (isPendingLazy) { flush(); }
+            pending.add(value);
+        }
+        
+        /**
+         * Adds a lazy constant, which must already be known to match, without resolving it.
+         *
+         * @param value     the lazy constant
+         */
+        void addLazy(LazyConstant<?> value)
+        {
+            if (!isPendingLazy) { flush(); }
+            isPendingLazy = true;
+            pending.add(value);
+        }
+        
+        /**
+         * Adds all elements of the collection that are instances of the constant type.
+         * Random-access lists containing only matching elements are added without being copied.
+         *
+         * @param values    the collection
+         */
+        void addAll(Collection<?> values)
+        {
+            int matching = 0;
+            for (Object value : values) { if (type.test(value)) { matching++; } }
+            
+            if (matching == 0) { return; }
+            
+            if (matching == values.size() && values instanceof List && values instanceof RandomAccess)
+            {
+                segment(values, matching);
+            }
+            else
+            {
+                Object[] filtered = new Object[matching];
+                int i = 0;
+                
+                for (Object value : values)
+                {
+                    if (i < matching && type.test(value)) { filtered[i++] = value; }
+                }
+                
+                // Only shorter if the collection was concurrently modified.
+                if (i > 0) { segment((i == matching) ? filtered : Arrays.copyOf(filtered, i), i); }
+            }
+        }
+        
+        /**
+         * Adds all elements of the array that are instances of the constant type.
+         * Arrays containing only matching elements (including matching primitive arrays)
+         * are added without being copied.
+         *
+         * @param array     the array (of any type)
+         */
+        void addArray(Object array)
+        {
+            int length = ConstantArrays.length(array);
+            if (length == 0) { return; }
+            
+            if (!(array instanceof Object[]))
+            {
+                // Every element of a primitive array boxes to the same type, so either all or none match.
+                if (type.test(ConstantArrays.get(array, 0))) { segment(ConstantArrays.view(array), length); }
+                return;
+            }
+            
+            Object[] elements = (Object[]) array;
+            int matching = 0;
+            for (Object element : elements) { if (type.test(element)) { matching++; } }
+            
+            if (matching == length) { segment(elements, length); }
+            else if (matching > 0)
+            {
+                Object[] filtered = new Object[matching];
+                int i = 0;
+                
+                for (Object element : elements)
+                {
+                    if (i < matching && type.test(element)) { filtered[i++] = element; }
+                }
+                
+                if (i > 0) { segment((i == matching) ? filtered : Arrays.copyOf(filtered, i), i); }
+            }
+        }
+        
+        /**
+         * Adds all values of another view, which are already known to match.
+         *
+         * @param values    the view
+         */
+        void addView(List<T> values)
+        {
+            if (!values.isEmpty()) { segment(values, values.size()); }
+        }
+        
+        private void segment(Object values, int length)
+        {
+            flush();
+            append(values, length);
+        }
+        
+        private void flush()
+        {
+            if (!pending.isEmpty())
+            {
+                Object[] values = pending.toArray();
+                append((isPendingLazy) ? new Resolving(values) : values, values.length);
+                pending.clear();
+            }
+            
+            isPendingLazy = false;
+        }
+        
+        private void append(Object values, int length)
+        {
+            if (segments.size() == ends.length) { ends = Arrays.copyOf(ends, ends.length * 2); }
+            size += length;
+            ends[segments.size()] = size;
+            segments.add(values);
+        }
+        
+        ConstantValues<T> build()
+        {
+            flush();
+            return new ConstantValues<>(segments.toArray(), Arrays.copyOf(ends, segments.size()));
+        }
+    }
+    
+    // Resolves lazy constants on access.
+    private static final class Resolving extends AbstractList<Object> implements RandomAccess
+    {
+        private final Object[] values;
+        
+        Resolving(Object[] values)
+        {
+            this.values = values;
+        }
+        
+        @Override
+        public Object get(int index) { return ((LazyConstant<?>) values[index]).get(); }
+        
+        @Override
+        public int size() { return values.length; }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+/**
+ * Visits aggregated constants without wrapping them as individual {@link Constant} instances.
+ *
+ * @param <T>   constant type
+ * @see Aggregates.Pending.Results#forEach(ConstantVisitor)
+ */
+@FunctionalInterface
+public interface ConstantVisitor<T>
+{
+    /**
+     * Visits a constant.
+     *
+     * @param source            the source class from which the constant originates
+     * @param name              the constant's name (or its key, if its value was retrieved from a constant map)
+     * @param value             the constant's non-null value
+     * @param isFromCollection  whether the value was retrieved from a constant collection, array, or map
+     */
+    void visit(Class<?> source, String name, T value, boolean isFromCollection);
+}
@@ -13,7 +13,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utilities for constant fields.
@@ -65,7 +68,8 @@ public class Constants
         /**
          * Streams all the constant fields from the source class.
          *
-         * <p><b>Note:</b> fields in the stream may not necessarily be accessible.</p>
+         * <p><b>Note:</b> fields in the stream may not necessarily be accessible. Every stream contains
+         * new copies of the fields, so making them accessible never affects other callers.</p>
          *
          * @return a stream containing all constant fields
          * @see #isConstant(Field)
@@ -90,12 +94,13 @@ public class Constants
         {
             return fields.map(field ->
                 {
-                    field.setAccessible(true);
+                    // Inaccessible fields are skipped below, since reading them fails.
+                    field.trySetAccessible();
                     
                     try
                     {
-                        @NullOr Object value = field.get(source);
-                        return (value == null) ? null : new Impl<>(source, field.getName(), value, false);
+                        @NullOr Object value = field.get(null);
+                        return (value == null) ? null : new Impl<>(source, field.getName(), value, false, -1);
                     }
                     catch (IllegalAccessException e) { return (Constant<?>) null; }
                 })
@@ -123,19 +128,35 @@ public class Constants
         }
     }
     
+    // Streams constants with exact characteristics: sized, ordered, non-null, and immutable.
+    static <T> Stream<Constant<T>> stream(Constant<T>[] constants)
+    {
+        int characteristics = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return StreamSupport.stream(Spliterators.spliterator(constants, characteristics), false);
+    }
+    
     static final class Impl<T> implements Constant<T>
     {
         private final Class<?> source;
         private final String name;
+        private final String path;
         private final T value;
         private final boolean isFromCollection;
+        private final int ordinal;
         
-        Impl(Class<?> source, String name, T value, boolean isFromCollection)
+        Impl(Class<?> source, String name, String path, T value, boolean isFromCollection, int ordinal)
         {
             this.source = source;
             this.name = name;
+            this.path = path;
             this.value = value;
             this.isFromCollection = isFromCollection;
+            this.ordinal = ordinal;
+        }
+        
+        Impl(Class<?> source, String name, T value, boolean isFromCollection, int ordinal)
+        {
+            this(source, name, name, value, isFromCollection, ordinal);
         }
         
         @Override
@@ -144,10 +165,99 @@ public class Constants
         @Override
         public String name() { return name; }
         
+        @Override
+        public String path() { return path; }
+        
         @Override
         public T value() { return value; }
         
         @Override
         public boolean isFromCollection() { return isFromCollection; }
+        
+        @Override
+        public int ordinal() { return ordinal; }
+        
+        @Override
+        public boolean equals(@NullOr Object o)
+        {
+            if (this == o) { return true; }
+            if (!(o instanceof Impl)) { return false; }
+            Impl<?> that = (Impl<?>) o;
+            return source == that.source
+                && ordinal == that.ordinal
+                && isFromCollection == that.isFromCollection
+                && name.equals(that.name)
+                && path.equals(that.path)
+                && value.equals(that.value);
+        }
+        
+        @Override
+        public int hashCode()
+        {
+            int hash = 31 * source.hashCode() + path.hashCode();
+            hash = 31 * hash + value.hashCode();
+            return 31 * hash + ordinal;
+        }
+    }
+    
+    // Resolves its lazy value only once the value is actually requested.
+    static final class Lazy<T> implements Constant<T>
+    {
+        private final Class<?> source;
+        private final String name;
+        private final String path;
+        private final LazyConstant<? extends T> value;
+        private final int ordinal;
+        
+        Lazy(Class<?> source, String name, String path, LazyConstant<? extends T> value, int ordinal)
+        {
+            this.source = source;
+            this.name = name;
+            this.path = path;
+            this.value = value;
+            this.ordinal = ordinal;
+        }
+        
+        @Override
+        public Class<?> source() { return source; }
+        
+        @Override
+        public String name() { return name; }
+        
+        @Override
+        public String path() { return path; }
+        
+        @Override
+        public T value() { return value.get(); }
+        
+        LazyConstant<? extends T> lazy() { return value; }
+        
+        @Override
+        public boolean isFromCollection() { return false; }
+        
+        @Override
+        public int ordinal() { return ordinal; }
+        
+        // Compares the lazy constant holding the value rather than resolving it.
+        @Override
+        public boolean equals(@NullOr Object o)
+        {
+            if (this == o) { return true; }
+            if (!(o instanceof Lazy)) { return false; }
+            Lazy<?> that = (Lazy<?>) o;
+            return source == that.source
+                && ordinal == that.ordinal
+                && value == that.value
+                && name.equals(that.name)
+                && path.equals(that.path);
+        }
+        
+        @Override
+        public int hashCode()
+        {
+            int hash = 31 * source.hashCode() + path.hashCode();
+            hash = 31 * hash + System.identityHashCode(value);
+            return 31 * hash + ordinal;
+        }
     }
 }
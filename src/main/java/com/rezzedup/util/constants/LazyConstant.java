@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A constant value that's computed on first access, at most once.
+ *
+ * <p>Expensive constants (such as compiled patterns, large lookup tables, or parsed schemas) would
+ * otherwise be computed while their class initializes, even if they're never used. Lazy constants
+ * defer that cost until their value is first requested.</p>
+ *
+ * <p>For example:</p>
+ *
+ * <pre>{@code
+ * static final LazyConstant<Pattern> EMAIL = LazyConstant.of(() -> Pattern.compile("^[^@]+@[^@]+$"));
+ * }</pre>
+ *
+ * <p>Aggregations match lazy constants by their declared type argument, so the constant above is
+ * aggregated alongside other {@code Pattern} constants without being resolved. Its value is only
+ * computed once it's accessed via {@link Constant#value()} (or any operation that requires the value,
+ * such as collecting values into a list). Fields declared as {@code Supplier<Pattern>} that hold
+ * a lazy constant are matched the same way. Aggregating a type that lazy constants are
+ * themselves instances of (such as {@code Object} or {@code Supplier}) yields the lazy constants
+ * rather than their values.</p>
+ *
+ * <p>Resolution is thread-safe: concurrent first accesses wait for a single computation. If the
+ * supplier fails, nothing is memoized, and the next access tries again. A supplier that depends on
+ * its own lazy constant fails with an {@link IllegalStateException} instead of recursing.</p>
+ *
+ * @param <T>   value type
+ */
+public final class LazyConstant<T> implements Supplier<T>
+{
+    /**
+     * Creates a new lazy constant.
+     *
+     * @param supplier  supplies the (non-null) value on first access
+     * @param <T>       value type
+     *
+     * @return a new, unresolved lazy constant
+     */
+    public static <T> LazyConstant<T> of(Supplier<? extends T> supplier)
+    {
+        return new LazyConstant<>(Objects.requireNonNull(supplier, "supplier"));
+    }
+    
+    // Released once resolved, so that anything it captures can be collected.
+    private @NullOr Supplier<? extends T> supplier;
+    private volatile @NullOr T value = null;
+    
+    // Guarded by this lazy constant's monitor, which only the resolving thread can hold.
+    private boolean isResolving = false;
+    
+    private LazyConstant(Supplier<? extends T> supplier)
+    {
+        this.supplier = supplier;
+    }
+    
+    /**
+     * Gets the value, computing it if this is the first access.
+     *
+     * @return the non-null value
+     * @throws NullPointerException     if the supplier provides {@code null}
+     * @throws IllegalStateException    if the supplier (recursively) depends on this lazy constant
+     */
+    @Override
+    public T get()
+    {
+        @NullOr T resolved = value;
+        if (resolved != null) { return resolved; }
+        
+        synchronized (this)
+        {
+            resolved = value;
+            
+            if (resolved == null)
+            {
+                if (isResolving) { throw new IllegalStateException("Recursive resolution of lazy constant"); }
+                isResolving = true;
+                
+                try { resolved = Objects.requireNonNull(Objects.requireNonNull(supplier).get(), "supplied value"); }
+                finally { isResolving = false; }
+                
+                value = resolved;
+                supplier = null;
+            }
+            
+            return resolved;
+        }
+    }
+    
+    /**
+     * Gets whether the value was already computed.
+     *
+     * @return {@code true} if resolved, otherwise {@code false}
+     */
+    public boolean isResolved() { return value != null; }
+    
+    @Override
+    public String toString()
+    {
+        @NullOr T resolved = value;
+        return "LazyConstant{" + ((resolved == null) ? "<unresolved>" : "value=" + resolved) + '}';
+    }
+}
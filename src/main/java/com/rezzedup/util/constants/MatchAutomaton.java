@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiled form of {@link MatchRules} name criteria: an Aho-Corasick automaton that checks
+ * all required, optional, and excluded strings in a single pass without allocating.
+ *
+ * <p>Instances are immutable and therefore safe to publish without synchronization.</p>
+ */
+final class MatchAutomaton
+{
+    /**
+     * Maximum amount of required strings, as they're tracked with a single {@code long} bit mask.
+     */
+    static final int MAX_REQUIRED = Long.SIZE;
+    
+    private static final byte ANY = 1;
+    private static final byte NOT = 1 << 1;
+    
+    /**
+     * Compiles name criteria into an automaton.
+     *
+     * @param all   strings that must all be contained
+     * @param any   strings of which at least one must be contained
+     * @param not   strings that must not be contained
+     *
+     * @return the compiled automaton
+     * @throws IllegalArgumentException if there are more than {@link #MAX_REQUIRED} required strings
+     */
+    static MatchAutomaton compile(Set<String> all, Set<String> any, Set<String> not)
+    {
+        if (all.size() > MAX_REQUIRED) { throw new IllegalArgumentException("Too many required strings: " + all.size()); }
+        return new Builder(all, any, not).build();
+    }
+    
+    private final char[] alphabet;
+    private final int[] ascii;
+    private final int width;
+    private final int[] transitions;
+    private final long[] required;
+    private final byte[] flags;
+    private final long allRequired;
+    private final boolean anyRequired;
+    private final boolean hasExclusions;
+    
+    private MatchAutomaton(
+        char[] alphabet,
+        int[] ascii,
+        int[] transitions,
+        long[] required,
+        byte[] flags,
+        long allRequired,
+        boolean anyRequired,
+        boolean hasExclusions
+    ) {
+        this.alphabet = alphabet;
+        this.ascii = ascii;
+        this.width = alphabet.length + 1;
+        this.transitions = transitions;
+        this.required = required;
+        this.flags = flags;
+        this.allRequired = allRequired;
+        this.anyRequired = anyRequired;
+        this.hasExclusions = hasExclusions;
+    }
+    
+    private int symbol(char c)
+    {
+        if (c < ascii.length) { return ascii[c]; }
+        int index = Arrays.binarySearch(alphabet, c);
+        return (index < 0) ? 0 : index + 1;
+    }
+    
+    /**
+     * Checks if the provided name matches the compiled criteria.
+     *
+     * @param name  the name to check
+     *
+     * @return {@code true} if the name matches, otherwise {@code false}
+     */
+    boolean matches(String name)
+    {
+        // The root state holds the outputs of empty strings, which are contained by every name.
+        if ((flags[0] & NOT) != 0) { return false; }
+        
+        long seen = required[0];
+        boolean any = !anyRequired || (flags[0] & ANY) != 0;
+        int state = 0;
+        
+        for (int i = 0; i < name.length(); i++)
+        {
+            if (!hasExclusions && any && seen == allRequired) { return true; }
+            
+            state = transitions[state * width + symbol(name.charAt(i))];
+            byte output = flags[state];
+            
+            if ((output & NOT) != 0) { return false; }
+            if ((output & ANY) != 0) { any = true; }
+            seen |= required[state];
+        }
+        
+        return any && seen == allRequired;
+    }
+    
+    private static final class Builder
+    {
+        private final char[] alphabet;
+        private final int[] ascii = new int[128];
+        private final List<int[]> children = new ArrayList<>();
+        private long[] required = new long[16];
+        private byte[] flags = new byte[16];
+        private final long allRequired;
+        private final boolean anyRequired;
+        private final boolean hasExclusions;
+        
+        Builder(Set<String> all, Set<String> any, Set<String> not)
+        {
+            Set<Character> characters = new TreeSet<>();
+            
+            for (Set<String> strings : List.of(all, any, not))
+            {
+                for (String string : strings)
+                {
+                    for (int i = 0; i < string.length(); i++) { characters.add(string.charAt(i)); }
+                }
+            }
+            
+            this.alphabet = new char[characters.size()];
+            int index = 0;
+            
+            for (char c : characters)
+            {
+                alphabet[index++] = c;
+                if (c < ascii.length) { ascii[c] = index; }
+            }
+            
+            newState();
+            
+            // Insert before indexing: inserting may grow the output arrays.
+            int bit = 0;
+            
+            for (String string : all)
+            {
+                int state = insert(string);
+                required[state] |= 1L << bit++;
+            }
+            
+            for (String string : any)
+            {
+                int state = insert(string);
+                flags[state] |= ANY;
+            }
+            
+            for (String string : not)
+            {
+                int state = insert(string);
+                flags[state] |= NOT;
+            }
+            
+            this.allRequired = (bit == Long.SIZE) ? -1L : (1L << bit) - 1;
+            this.anyRequired = !any.isEmpty();
+            this.hasExclusions = !not.isEmpty();
+        }
+        
+        private int newState()
+        {
+            int[] next = new int[alphabet.length + 1];
+            Arrays.fill(next, -1);
+            children.add(next);
+            
+            if (children.size() > required.length)
+            {
+                required = Arrays.copyOf(required, required.length * 2);
+                flags = Arrays.copyOf(flags, flags.length * 2);
+            }
+            
+            return children.size() - 1;
+        }
+        
+        private int symbol(char c)
+        {
+            return Arrays.binarySearch(alphabet, c) + 1;
+        }
+        
+        private int insert(String string)
+        {
+            int state = 0;
+            
+            for (int i = 0; i < string.length(); i++)
+            {
+                int symbol = symbol(string.charAt(i));
+                int next = children.get(state)[symbol];
+                
+                if (next < 0)
+                {
+                    next = newState();
+                    children.get(state)[symbol] = next;
+                }
+                
+                state = next;
+            }
+            
+            return state;
+        }
+        
+        MatchAutomaton build()
+        {
+            int width = alphabet.length + 1;
+            int states = children.size();
+            int[] transitions = new int[states * width];
+            int[] failure = new int[states];
+            Queue<Integer> queue = new ArrayDeque<>();
+            
+            // Missing root transitions loop back to the root.
+            for (int symbol = 0; symbol < width; symbol++)
+            {
+                int next = children.get(0)[symbol];
+                
+                if (next < 0) { transitions[symbol] = 0; }
+                else
+                {
+                    transitions[symbol] = next;
+                    queue.add(next);
+                }
+            }
+            
+            // Breadth-first, so failure states are always resolved before their dependents.
+            while (!queue.isEmpty())
+            {
+                int state = queue.remove();
+                
+                required[state] |= required[failure[state]];
+                flags[state] |= flags[failure[state]];
+                
+                for (int symbol = 0; symbol < width; symbol++)
+                {
+                    int next = children.get(state)[symbol];
+                    int fallback = transitions[failure[state] * width + symbol];
+                    
+                    if (next < 0) { transitions[state * width + symbol] = fallback; }
+                    else
+                    {
+                        transitions[state * width + symbol] = next;
+                        failure[next] = fallback;
+                        queue.add(next);
+                    }
+                }
+            }
+            
+            return new MatchAutomaton(
+                alphabet,
+                ascii,
+                transitions,
+                Arrays.copyOf(required, states),
+                Arrays.copyOf(flags, states),
+                allRequired,
+                anyRequired,
+                hasExclusions
+            );
+        }
+    }
+}
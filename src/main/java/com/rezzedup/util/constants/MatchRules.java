@@ -23,7 +23,8 @@ public class MatchRules
     
     /**
      * Specifies criteria for filtering constants based on their name and other settings. By default,
-     * the rules will match all names but won't visit the contents of constant collections.
+     * the rules will match all names but won't visit the contents of constant collections, arrays,
+     * or maps, nor nested classes or inherited constants.
      *
      * <p>It should be noted that since all {@link MatchRules} instances are immutable, the same default
      * instance is always returned by this method. Any additional criteria will construct entirely
@@ -37,18 +38,38 @@ public class MatchRules
     private final Set<String> any;
     private final Set<String> not;
     private final boolean collections;
+    private final boolean arrays;
+    private final boolean maps;
+    private final boolean nested;
+    private final boolean inherited;
     
-    private MatchRules(Set<String> all, Set<String> any, Set<String> not, boolean collections)
+    // Lazily compiled, benign race: the automaton is immutable and equivalent across compilations.
+    private @NullOr MatchAutomaton automaton = null;
+    
+    private MatchRules(
+        Set<String> all,
+        Set<String> any,
+        Set<String> not,
+        boolean collections,
+        boolean arrays,
+        boolean maps,
+        boolean nested,
+        boolean inherited
+    )
     {
         this.all = Set.copyOf(all);
         this.any = Set.copyOf(any);
         this.not = Set.copyOf(not);
         this.collections = collections;
+        this.arrays = arrays;
+        this.maps = maps;
+        this.nested = nested;
+        this.inherited = inherited;
     }
     
     MatchRules()
     {
-        this(Set.of(), Set.of(), Set.of(), false);
+        this(Set.of(), Set.of(), Set.of(), false, false, false, false, false);
     }
     
     /**
@@ -64,7 +85,7 @@ public class MatchRules
         if (required.length <= 0) { return this; }
         Set<String> allModified = new HashSet<>(all);
         Collections.addAll(allModified, required);
-        return new MatchRules(allModified, any, not, collections);
+        return new MatchRules(allModified, any, not, collections, arrays, maps, nested, inherited);
     }
     
     /**
@@ -80,7 +101,7 @@ public class MatchRules
         if (optional.length <= 0) { return this; }
         Set<String> anyModified = new HashSet<>(any);
         Collections.addAll(anyModified, optional);
-        return new MatchRules(all, anyModified, not, collections);
+        return new MatchRules(all, anyModified, not, collections, arrays, maps, nested, inherited);
     }
     
     /**
@@ -96,7 +117,7 @@ public class MatchRules
         if (excluded.length <= 0) { return this; }
         Set<String> notModified = new HashSet<>(not);
         Collections.addAll(notModified, excluded);
-        return new MatchRules(all, any, notModified, collections);
+        return new MatchRules(all, any, notModified, collections, arrays, maps, nested, inherited);
     }
     
     /**
@@ -109,7 +130,83 @@ public class MatchRules
     public MatchRules collections(boolean visit)
     {
         if (collections == visit) { return this; }
-        return new MatchRules(all, any, not, visit);
+        return new MatchRules(all, any, not, visit, arrays, maps, nested, inherited);
+    }
+    
+    /**
+     * Sets whether the elements of constant arrays (including primitive arrays) should be aggregated.
+     *
+     * <p>Arrays are read in place, without being copied or wrapped into lists, and their elements
+     * are aggregated as though they were from a {@link Constant#isFromCollection() collection}.
+     * Elements of primitive arrays are boxed where necessary, except when aggregating primitives
+     * directly (such as via {@link Aggregates.Pending.ConstantType#constantsOfInt()}).</p>
+     *
+     * @param visit     {@code true} if arrays should be visited or {@code false} to disable
+     *
+     * @return new instance containing the amended rules or itself if no new rules are specified
+     */
+    public MatchRules arrays(boolean visit)
+    {
+        if (arrays == visit) { return this; }
+        return new MatchRules(all, any, not, collections, visit, maps, nested, inherited);
+    }
+    
+    /**
+     * Sets whether the values of constant maps should be aggregated, each named by its key.
+     *
+     * <p>Maps are iterated in place, without copying their entries. Each value is aggregated as
+     * though it were from a {@link Constant#isFromCollection() collection}, with the string form of
+     * its key as its {@link Constant#name() name} (and {@link Constant#path() path}), so maps keyed
+     * by name can be looked up via {@link Aggregates.Pending.Aggregation#toMap()}. The rules still
+     * match the names of the map constants themselves, not their keys.</p>
+     *
+     * @param visit     {@code true} if maps should be visited or {@code false} to disable
+     *
+     * @return new instance containing the amended rules or itself if no new rules are specified
+     */
+    public MatchRules maps(boolean visit)
+    {
+        if (maps == visit) { return this; }
+        return new MatchRules(all, any, not, collections, arrays, visit, nested, inherited);
+    }
+    
+    /**
+     * Sets whether constants declared within nested classes should be aggregated, recursively.
+     *
+     * <p>Nested constants are aggregated after those of their enclosing class, ordered by the names
+     * of their classes. Each nested constant's {@link Constant#path() path} qualifies its name
+     * with the simple names of its nested classes (such as {@code Http.NOT_FOUND}), whereas its
+     * name remains the name of its field. Names are matched against these rules unqualified.</p>
+     *
+     * @param visit     {@code true} if nested classes should be visited or {@code false} to disable
+     *
+     * @return new instance containing the amended rules or itself if no new rules are specified
+     * @see com.rezzedup.util.constants.annotations.NotAggregated
+     */
+    public MatchRules nested(boolean visit)
+    {
+        if (nested == visit) { return this; }
+        return new MatchRules(all, any, not, collections, arrays, maps, visit, inherited);
+    }
+    
+    /**
+     * Sets whether constants inherited from superclasses and superinterfaces should be aggregated.
+     *
+     * <p>Like fields in Java, a constant hides all inherited constants of the same name (even if
+     * it's {@link com.rezzedup.util.constants.annotations.NotAggregated not aggregated} itself).
+     * A class's own constants are aggregated first, followed by inherited constants in the order
+     * that Java resolves field references: those of each superinterface, then those of the
+     * superclass, each recursively. Inherited constants keep their declaring class as their
+     * {@link Constant#source() source}.</p>
+     *
+     * @param visit     {@code true} if inherited constants should be visited or {@code false} to disable
+     *
+     * @return new instance containing the amended rules or itself if no new rules are specified
+     */
+    public MatchRules inherited(boolean visit)
+    {
+        if (inherited == visit) { return this; }
+        return new MatchRules(all, any, not, collections, arrays, maps, nested, visit);
     }
     
     /**
@@ -120,6 +217,17 @@ public class MatchRules
      * @return {@code true} if the name matches, otherwise {@code false}
      */
     public boolean matches(String name)
+    {
+        if (all.isEmpty() && any.isEmpty() && not.isEmpty()) { return true; }
+        if (all.size() > MatchAutomaton.MAX_REQUIRED) { return matchesEach(name); }
+        
+        @NullOr MatchAutomaton compiled = automaton;
+        if (compiled == null) { automaton = compiled = MatchAutomaton.compile(all, any, not); }
+        
+        return compiled.matches(name);
+    }
+    
+    private boolean matchesEach(String name)
     {
         return (all.isEmpty() || all.stream().allMatch(name::contains))
             && (any.isEmpty() || any.stream().anyMatch(name::contains))
@@ -133,6 +241,34 @@ public class MatchRules
      */
     public boolean isAggregatingFromCollections() { return collections; }
     
+    /**
+     * Gets whether aggregating from the elements of constant arrays is allowed by these rules or not.
+     *
+     * @return {@code true} if allowed, otherwise {@code false}
+     */
+    public boolean isAggregatingFromArrays() { return arrays; }
+    
+    /**
+     * Gets whether aggregating from the values of constant maps is allowed by these rules or not.
+     *
+     * @return {@code true} if allowed, otherwise {@code false}
+     */
+    public boolean isAggregatingFromMaps() { return maps; }
+    
+    /**
+     * Gets whether aggregating from nested classes is allowed by these rules or not.
+     *
+     * @return {@code true} if allowed, otherwise {@code false}
+     */
+    public boolean isAggregatingFromNestedClasses() { return nested; }
+    
+    /**
+     * Gets whether aggregating inherited constants is allowed by these rules or not.
+     *
+     * @return {@code true} if allowed, otherwise {@code false}
+     */
+    public boolean isAggregatingInheritedConstants() { return inherited; }
+    
     @Override
     public String toString()
     {
@@ -140,7 +276,11 @@ public class MatchRules
             "all=" + all + ", " +
             "any=" + any + ", " +
             "not=" + not + ", " +
-            "collections=" + collections +
+            "collections=" + collections + ", " +
+            "arrays=" + arrays + ", " +
+            "maps=" + maps + ", " +
+            "nested=" + nested + ", " +
+            "inherited=" + inherited +
             '}';
     }
     
@@ -150,12 +290,14 @@ public class MatchRules
         if (this == o) { return true; }
         if (o == null || getClass() != o.getClass()) { return false; }
         MatchRules that = (MatchRules) o;
-        return collections == that.collections && all.equals(that.all) && any.equals(that.any) && not.equals(that.not);
+        return collections == that.collections && arrays == that.arrays && maps == that.maps
+            && nested == that.nested && inherited == that.inherited
+            && all.equals(that.all) && any.equals(that.any) && not.equals(that.not);
     }
     
     @Override
     public int hashCode()
     {
-        return Objects.hash(all, any, not, collections);
+        return Objects.hash(all, any, not, collections, arrays, maps, nested, inherited);
     }
 }
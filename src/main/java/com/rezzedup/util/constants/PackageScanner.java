@@ -0,0 +1,395 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds classes declaring constants within a package by reading class files directly from
+ * jar files and directories, without loading classes that can't match.
+ *
+ * <p>Class files are parsed just far enough to find the names of their {@code static final} fields.
+ * Parsed jars are cached by checksum: unchanged jars (same size and modification time) are reused
+ * without being opened, and touched jars are only re-indexed if the combined checksum of their
+ * entries (read from the zip central directory) changed. Class files within directories are cached
+ * individually by size and modification time. Both caches are bounded, evicting the least recently
+ * used jars and class files first.</p>
+ */
+final class PackageScanner
+{
+    private PackageScanner() { throw new UnsupportedOperationException(); }
+    
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    
+    private static final int MAXIMUM_JARS = 64;
+    private static final int MAXIMUM_CLASS_FILES = 4096;
+    
+    private static final Map<Path, JarIndex> JARS = leastRecentlyUsed(MAXIMUM_JARS);
+    private static final Map<Path, ClassFile> CLASS_FILES = leastRecentlyUsed(MAXIMUM_CLASS_FILES);
+    
+    private static <K, V> Map<K, V> leastRecentlyUsed(int maximumSize)
+    {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) { return size() > maximumSize; }
+        });
+    }
+    
+    /**
+     * Finds and loads (without initializing) all classes directly within the package that declare
+     * at least one constant whose name matches the rules. If the rules aggregate nested classes,
+     * the outermost class of each matching nested class is found instead. If the rules aggregate
+     * inherited constants, all classes within the package are found. Package and module
+     * descriptors ({@code package-info} and {@code module-info}) are never found.
+     *
+     * @param packageName   the package name
+     * @param loader        class loader to find and load classes with
+     * @param rules         rules at least one constant name must match
+     * @param failures      receives classes that couldn't be loaded, keyed by name
+     *
+     * @return a list of classes ordered by location and then by name
+     * @throws AggregationException     if the package cannot be scanned
+     */
+    static List<Class<?>> classes(
+        String packageName,
+        ClassLoader loader,
+        MatchRules rules,
+        Map<String, Throwable> failures
+    )
+    {
+        String path = packageName.replace('.', '/');
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        
+        try
+        {
+            Enumeration<URL> roots = loader.getResources(path);
+            
+            while (roots.hasMoreElements())
+            {
+                for (ClassFile file : scan(roots.nextElement(), path))
+                {
+                    // Inherited constants may match even if none of the class's own constants do.
+                    if (!rules.isAggregatingInheritedConstants() && !file.matches(rules)) { continue; }
+                    
+                    try
+                    {
+                        Class<?> type = Class.forName(file.name, false, loader);
+                        
+                        // Nested classes are aggregated via their outermost class instead.
+                        if (rules.isAggregatingFromNestedClasses())
+                        {
+                            for (@NullOr Class<?> outer = type; outer != null; outer = outer.getDeclaringClass())
+                            {
+                                type = outer;
+                            }
+                        }
+                        
+                        classes.add(type);
+                    }
+                    catch (ClassNotFoundException | LinkageError e) { failures.put(file.name, e); }
+                }
+            }
+        }
+        catch (IOException | UncheckedIOException e)
+        {
+            throw new AggregationException("Could not scan package " + packageName, e);
+        }
+        
+        return List.copyOf(classes);
+    }
+    
+    private static List<ClassFile> scan(URL url, String path) throws IOException
+    {
+        try
+        {
+            switch (url.getProtocol())
+            {
+                case "file": return directory(Path.of(url.toURI()));
+                case "jar":
+                    String spec = url.getPath();
+                    int separator = spec.indexOf("!/");
+                    if (separator < 0) { return List.of(); }
+                    
+                    Path jar = Path.of(new URI(spec.substring(0, separator)));
+                    return JARS.compute(jar, (key, existing) -> JarIndex.refresh(key, existing)).classes(path);
+                default: return List.of(); // Unsupported location (e.g. nested jars).
+            }
+        }
+        catch (URISyntaxException | IllegalArgumentException e) { return List.of(); }
+    }
+    
+    private static List<ClassFile> directory(Path directory) throws IOException
+    {
+        List<ClassFile> files = new ArrayList<>();
+        
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory, "*.class"))
+        {
+            for (Path child : children)
+            {
+                if (isDescriptor(child.getFileName().toString())) { continue; }
+                
+                BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                long size = attributes.size();
+                long modified = attributes.lastModifiedTime().toMillis();
+                
+                @NullOr ClassFile cached = CLASS_FILES.get(child);
+                
+                if (cached == null || cached.size != size || cached.modified != modified)
+                {
+                    cached = ClassFile.parse(Files.readAllBytes(child), size, modified);
+                    CLASS_FILES.put(child, cached);
+                }
+                
+                // Even classes without constants are kept, since they might inherit some.
+                files.add(cached);
+            }
+        }
+        
+        files.sort((a, b) -> a.name.compareTo(b.name));
+        return files;
+    }
+    
+    // Package and module descriptors are compiled to class files, but never declare any constants.
+    private static boolean isDescriptor(String fileName)
+    {
+        return fileName.equals("package-info.class") || fileName.equals("module-info.class");
+    }
+    
+    private static final class JarIndex
+    {
+        final long size;
+        final long modified;
+        final long checksum;
+        
+        // Lazily indexed per package path.
+        final Map<String, List<ClassFile>> packages = new ConcurrentHashMap<>();
+        final Path jar;
+        
+        JarIndex(Path jar, long size, long modified, long checksum)
+        {
+            this.jar = jar;
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+        }
+        
+        static JarIndex refresh(Path jar, @NullOr JarIndex existing)
+        {
+            try
+            {
+                BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+                long size = attributes.size();
+                long modified = attributes.lastModifiedTime().toMillis();
+                
+                if (existing != null && existing.size == size && existing.modified == modified) { return existing; }
+                
+                long checksum = checksum(jar);
+                JarIndex refreshed = new JarIndex(jar, size, modified, checksum);
+                
+                // Touched but unchanged: keep everything indexed so far.
+                if (existing != null && existing.checksum == checksum) { refreshed.packages.putAll(existing.packages); }
+                return refreshed;
+            }
+            catch (IOException e) { throw new UncheckedIOException(e); }
+        }
+        
+        // Combines the names and CRCs stored within the zip central directory, without reading any entry data.
+        private static long checksum(Path jar) throws IOException
+        {
+            CRC32 crc = new CRC32();
+            ByteBuffer entryCrc = ByteBuffer.allocate(Long.BYTES);
+            
+            try (ZipFile zip = new ZipFile(jar.toFile()))
+            {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                
+                while (entries.hasMoreElements())
+                {
+                    ZipEntry entry = entries.nextElement();
+                    crc.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+                    crc.update(entryCrc.clear().putLong(entry.getCrc()).flip());
+                }
+            }
+            
+            return crc.getValue();
+        }
+        
+        List<ClassFile> classes(String path)
+        {
+            return packages.computeIfAbsent(path, this::index);
+        }
+        
+        private List<ClassFile> index(String path)
+        {
+            String prefix = path + "/";
+            List<ClassFile> files = new ArrayList<>();
+            
+            try (ZipFile zip = new ZipFile(jar.toFile()))
+            {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                
+                while (entries.hasMoreElements())
+                {
+                    ZipEntry entry = entries.nextElement();
+                    String name = entry.getName();
+                    
+                    if (!name.startsWith(prefix) || !name.endsWith(".class")) { continue; }
+                    if (name.indexOf('/', prefix.length()) >= 0) { continue; } // Subpackage.
+                    if (isDescriptor(name.substring(prefix.length()))) { continue; }
+                    
+                    try (InputStream input = zip.getInputStream(entry))
+                    {
+                        files.add(ClassFile.parse(input.readAllBytes(), entry.getSize(), entry.getTime()));
+                    }
+                }
+            }
+            catch (IOException e) { throw new UncheckedIOException(e); }
+            
+            files.sort((a, b) -> a.name.compareTo(b.name));
+            return List.copyOf(files);
+        }
+    }
+    
+    private static final class ClassFile
+    {
+        final String name;
+        final List<String> constants;
+        final long size;
+        final long modified;
+        
+        ClassFile(String name, List<String> constants, long size, long modified)
+        {
+            this.name = name;
+            this.constants = constants;
+            this.size = size;
+            this.modified = modified;
+        }
+        
+        boolean matches(MatchRules rules)
+        {
+            for (String constant : constants)
+            {
+                if (rules.matches(constant)) { return true; }
+            }
+            return false;
+        }
+        
+        // Reads the class name and names of static final fields, skipping everything else.
+        static ClassFile parse(byte[] bytes, long size, long modified) throws IOException
+        {
+            try
+            {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                if (buffer.getInt() != MAGIC) { throw new IOException("Not a class file"); }
+                
+                skip(buffer, 4); // Minor and major versions.
+                
+                int poolSize = Short.toUnsignedInt(buffer.getShort());
+                int[] offsets = new int[poolSize];
+                int[] classNames = new int[poolSize];
+                
+                for (int i = 1; i < poolSize; i++)
+                {
+                    int tag = Byte.toUnsignedInt(buffer.get());
+                    offsets[i] = buffer.position();
+                    
+                    switch (tag)
+                    {
+                        case 1: skip(buffer, Short.toUnsignedInt(buffer.getShort())); break;
+                        case 7: classNames[i] = Short.toUnsignedInt(buffer.getShort()); break;
+                        case 8: case 16: case 19: case 20: skip(buffer, 2); break;
+                        case 15: skip(buffer, 3); break;
+                        case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18: skip(buffer, 4); break;
+                        case 5: case 6: skip(buffer, 8); i++; break;
+                        default: throw new IOException("Unknown constant pool tag: " + tag);
+                    }
+                }
+                
+                skip(buffer, 2); // Access flags.
+                String name = utf8(buffer, offsets[classNames[Short.toUnsignedInt(buffer.getShort())]]).replace('/', '.');
+                
+                skip(buffer, 2); // Super class.
+                skip(buffer, 2 * Short.toUnsignedInt(buffer.getShort())); // Interfaces.
+                
+                int fieldCount = Short.toUnsignedInt(buffer.getShort());
+                List<String> constants = new ArrayList<>();
+                
+                for (int i = 0; i < fieldCount; i++)
+                {
+                    int access = Short.toUnsignedInt(buffer.getShort());
+                    int fieldName = Short.toUnsignedInt(buffer.getShort());
+                    skip(buffer, 2); // Descriptor.
+                    
+                    int attributes = Short.toUnsignedInt(buffer.getShort());
+                    
+                    for (int j = 0; j < attributes; j++)
+                    {
+                        skip(buffer, 2); // Attribute name.
+                        skip(buffer, buffer.getInt());
+                    }
+                    
+                    if ((access & (ACC_STATIC | ACC_FINAL)) == (ACC_STATIC | ACC_FINAL))
+                    {
+                        constants.add(utf8(buffer, offsets[fieldName]));
+                    }
+                }
+                
+                return new ClassFile(name, List.copyOf(constants), size, modified);
+            }
+            catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e)
+            {
+                throw new IOException("Malformed class file", e);
+            }
+        }
+        
+        private static void skip(ByteBuffer buffer, int bytes)
+        {
+            // Evaluated separately so that the amount is always read before the current position.
+            buffer.position(buffer.position() + bytes);
+        }
+        
+        private static String utf8(ByteBuffer buffer, int offset)
+        {
+            int length = Short.toUnsignedInt(buffer.getShort(offset));
+            
+            // Modified UTF-8 only differs from UTF-8 for null and supplementary characters,
+            // neither of which appear in typical field or class names.
+            return new String(buffer.array(), offset + 2, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -15,8 +15,9 @@ import java.lang.annotation.Target;
 /**
  * Marks a constant as ineligible for aggregation.
  *
- * <p>Constants with this annotation will <b>not</b> be aggregated.</p>
+ * <p>Constants with this annotation will <b>not</b> be aggregated. Neither will constants of
+ * nested classes with this annotation, when aggregating nested classes.</p>
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.TYPE})
 public @interface NotAggregated {}
@@ -18,4 +18,12 @@ public class AggregationException extends RuntimeException
      * @param caught    the exception
      */
     public AggregationException(Throwable caught) { super(caught); }
+    
+    /**
+     * Wraps an exception that occurred during aggregation with a detailed message.
+     *
+     * @param message   the detail message
+     * @param caught    the exception
+     */
+    public AggregationException(String message, Throwable caught) { super(message, caught); }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.exceptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Represents exceptions that occurred while aggregating from multiple sources.
+ *
+ * <p>The first failure is this exception's cause, and any further failures are
+ * {@link #getSuppressed() suppressed}.</p>
+ */
+public class MultiSourceAggregationException extends AggregationException
+{
+    private final Map<Class<?>, Throwable> failures;
+    private final Map<String, Throwable> loadFailures;
+    
+    /**
+     * Constructs a new exception from failures keyed by their source.
+     *
+     * @param failures  all failures by source class (must not be empty)
+     */
+    public MultiSourceAggregationException(Map<Class<?>, Throwable> failures)
+    {
+        this(failures, Map.of());
+    }
+    
+    /**
+     * Constructs a new exception from failures keyed by their source, including sources
+     * that couldn't be loaded at all (such as those found by scanning a package).
+     *
+     * @param failures      all failures by source class
+     * @param loadFailures  all failures to load a source by class name
+     *                      (must not be empty if there are no other failures)
+     */
+    public MultiSourceAggregationException(Map<Class<?>, Throwable> failures, Map<String, Throwable> loadFailures)
+    {
+        super(
+            "Failed to aggregate from " + (failures.size() + loadFailures.size()) + " source(s): "
+                + names(failures, loadFailures),
+            (failures.isEmpty() ? loadFailures : failures).values().iterator().next()
+        );
+        
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        this.loadFailures = Collections.unmodifiableMap(new LinkedHashMap<>(loadFailures));
+        
+        Stream.concat(this.failures.values().stream(), this.loadFailures.values().stream())
+            .skip(1)
+            .forEach(this::addSuppressed);
+    }
+    
+    private static List<String> names(Map<Class<?>, Throwable> failures, Map<String, Throwable> loadFailures)
+    {
+        List<String> names = new ArrayList<>();
+        for (Class<?> source : failures.keySet()) { names.add(source.getName()); }
+        names.addAll(loadFailures.keySet());
+        return names;
+    }
+    
+    /**
+     * Gets all failures keyed by the source class that failed, in the order that sources were provided.
+     *
+     * @return an immutable map of failures by source
+     */
+    public Map<Class<?>, Throwable> failures() { return failures; }
+    
+    /**
+     * Gets all failures to load a source keyed by the name of the class that couldn't be loaded,
+     * in the order that they were found.
+     *
+     * @return an immutable map of failures by class name
+     */
+    public Map<String, Throwable> loadFailures() { return loadFailures; }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.processor;
+
+import com.rezzedup.util.constants.ConstantIndex;
+import com.rezzedup.util.constants.annotations.AggregatedResult;
+import com.rezzedup.util.constants.annotations.NotAggregated;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Generates a {@link ConstantIndex} for every class declaring an {@link AggregatedResult}.
+ *
+ * <p>Each generated index lives in the same package as its source class and reads constants via
+ * direct static field references, which allows aggregating without any reflective scanning.
+ * Indexes are package-private with a private constructor, so they grant no more access to the
+ * source class's constants than the package already does. Consequently, the package must be
+ * open to this library for an index to be used (otherwise aggregation falls back to reflection,
+ * logging a warning the first time). Classes that cannot be fully indexed (such as those with
+ * {@code private} constants) are skipped, in which case aggregation falls back to reflection
+ * at runtime.</p>
+ *
+ * <p>Since match rules are arbitrary runtime values, they're still applied to the indexed
+ * constant names during aggregation.</p>
+ */
+public class ConstantIndexProcessor extends AbstractProcessor
+{
+    /**
+     * Maximum amount of constants a single index may contain, which keeps generated
+     * code within the class file's method size limits.
+     */
+    public static final int MAX_INDEXED_CONSTANTS = 2048;
+    
+    private final Set<String> generated = new HashSet<>();
+    
+    @Override
+    public Set<String> getSupportedAnnotationTypes()
+    {
+        return Set.of(AggregatedResult.class.getCanonicalName());
+    }
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round)
+    {
+        Set<TypeElement> sources = new LinkedHashSet<>();
+        
+        for (Element element : round.getElementsAnnotatedWith(AggregatedResult.class))
+        {
+            Element enclosing = element.getEnclosingElement();
+            if (enclosing instanceof TypeElement) { sources.add((TypeElement) enclosing); }
+        }
+        
+        for (TypeElement source : sources)
+        {
+            String name = processingEnv.getElementUtils().getBinaryName(source) + ConstantIndex.CLASS_NAME_SUFFIX;
+            if (generated.add(name)) { index(source, name); }
+        }
+        
+        // Other processors may still be interested in @AggregatedResult.
+        return false;
+    }
+    
+    private void note(TypeElement source, String reason)
+    {
+        processingEnv.getMessager().printMessage(
+            Diagnostic.Kind.NOTE, "Not indexing constants of " + source.getQualifiedName() + ": " + reason, source
+        );
+    }
+    
+    // Whether the class (and every class enclosing it) can be referenced by a non-subclass in the package.
+    private boolean isAccessibleFrom(TypeElement type, PackageElement pkg)
+    {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement())
+        {
+            TypeElement enclosing = (TypeElement) element;
+            Set<Modifier> modifiers = enclosing.getModifiers();
+            NestingKind nesting = enclosing.getNestingKind();
+            
+            if (nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) { return false; }
+            if (modifiers.contains(Modifier.PRIVATE)) { return false; }
+            
+            boolean isSamePackage = pkg.equals(processingEnv.getElementUtils().getPackageOf(enclosing));
+            if (!modifiers.contains(Modifier.PUBLIC) && !isSamePackage) { return false; }
+        }
+        
+        return true;
+    }
+    
+    // Whether the erased type (or its array component type) can be referenced by a class literal in the package.
+    private boolean isAccessibleFrom(TypeMirror type, PackageElement pkg)
+    {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        
+        if (erased.getKind().isPrimitive()) { return true; }
+        if (erased.getKind() == TypeKind.ARRAY)
+        {
+            return isAccessibleFrom(((ArrayType) erased).getComponentType(), pkg);
+        }
+        
+        if (erased.getKind() != TypeKind.DECLARED) { return false; }
+        
+        return isAccessibleFrom((TypeElement) processingEnv.getTypeUtils().asElement(erased), pkg);
+    }
+    
+    private void index(TypeElement source, String name)
+    {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(source);
+        
+        if (!isAccessibleFrom(source, pkg)) { note(source, "class is not accessible from its package"); return; }
+        if (source.getKind() == ElementKind.ENUM) { note(source, "enum constants are not indexed"); return; }
+        
+        List<String> constants = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        
+        for (Element element : source.getEnclosedElements())
+        {
+            if (element.getKind() != ElementKind.FIELD) { continue; }
+            
+            VariableElement field = (VariableElement) element;
+            Set<Modifier> modifiers = field.getModifiers();
+            
+            if (!modifiers.contains(Modifier.STATIC) || !modifiers.contains(Modifier.FINAL)) { continue; }
+            if (field.getAnnotation(AggregatedResult.class) != null) { continue; }
+            if (field.getAnnotation(NotAggregated.class) != null) { continue; }
+            
+            if (modifiers.contains(Modifier.PRIVATE))
+            {
+                note(source, "private constant " + field.getSimpleName());
+                return;
+            }
+            
+            if (!isAccessibleFrom(field.asType(), pkg))
+            {
+                note(source, "type of constant " + field.getSimpleName() + " is not accessible from its package");
+                return;
+            }
+            
+            constants.add(field.getSimpleName().toString());
+            types.add(typeName(field.asType()));
+        }
+        
+        if (constants.size() > MAX_INDEXED_CONSTANTS)
+        {
+            note(source, "more than " + MAX_INDEXED_CONSTANTS + " constants");
+            return;
+        }
+        
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty()) ? name : name.substring(packageName.length() + 1);
+        
+        try (Writer writer = processingEnv.getFiler().createSourceFile(name, source).openWriter())
+        {
+            writer.write(generate(packageName, simpleName, source.getQualifiedName().toString(), constants, types));
+        }
+        catch (IOException e) { throw new UncheckedIOException(e); }
+    }
+    
+    // Canonical name of the erased type, without any type annotations.
+    private String typeName(TypeMirror type)
+    {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        
+        if (erased.getKind().isPrimitive()) { return erased.getKind().name().toLowerCase(Locale.ROOT); }
+        if (erased.getKind() == TypeKind.ARRAY) { return typeName(((ArrayType) erased).getComponentType()) + "[]"; }
+        
+        return ((TypeElement) processingEnv.getTypeUtils().asElement(erased)).getQualifiedName().toString();
+    }
+    
+    private static String generate(
+        String packageName,
+        String simpleName,
+        String source,
+        List<String> constants,
+        List<String> types
+    )
+    {
+        StringBuilder code = new StringBuilder();
+        
+        code.append("// Generated by ").append(ConstantIndexProcessor.class.getName()).append(". Do not edit.\n");
+        if (!packageName.isEmpty()) { code.append("package ").append(packageName).append(";\n"); }
+        
+        code.append("\n")
+            .append("final class ").append(simpleName)
+            .append(" implements ").append(ConstantIndex.class.getCanonicalName()).append("\n")
+            .append("{\n")
+            .append("    private static final java.util.List<java.lang.String> NAMES = java.util.List.of(");
+        
+        for (int i = 0; i < constants.size(); i++)
+        {
+            if (i > 0) { code.append(", "); }
+            code.append('"').append(constants.get(i)).append('"');
+        }
+        
+        code.append(");\n")
+            .append("    \n")
+            .append("    private static final java.util.List<java.lang.Class<?>> TYPES = java.util.List.of(");
+        
+        for (int i = 0; i < types.size(); i++)
+        {
+            if (i > 0) { code.append(", "); }
+            code.append(types.get(i)).append(".class");
+        }
+        
+        code.append(");\n")
+            .append("    \n")
+            .append("    private ").append(simpleName).append("() {}\n")
+            .append("    \n")
+            .append("    @java.lang.Override\n")
+            .append("    public java.lang.Class<?> source() { return ").append(source).append(".class; }\n")
+            .append("    \n")
+            .append("    @java.lang.Override\n")
+            .append("    public java.util.List<java.lang.String> names() { return NAMES; }\n")
+            .append("    \n")
+            .append("    @java.lang.Override\n")
+            .append("    public java.util.List<java.lang.Class<?>> types() { return TYPES; }\n");
+        
+        accessor(code, "java.lang.Object", "value", source, constants, types, null);
+        accessor(code, "int", "intValue", source, constants, types, "int");
+        accessor(code, "long", "longValue", source, constants, types, "long");
+        accessor(code, "double", "doubleValue", source, constants, types, "double");
+        
+        return code.append("}\n").toString();
+    }
+    
+    // Appends an accessor reading the constants of the specified type (or of any type, if null).
+    private static void accessor(
+        StringBuilder code,
+        String returnType,
+        String method,
+        String source,
+        List<String> constants,
+        List<String> types,
+        @NullOr String type
+    )
+    {
+        code.append("    \n")
+            .append("    @java.lang.Override\n")
+            .append("    public ").append(returnType).append(' ').append(method).append("(int index)\n")
+            .append("    {\n")
+            .append("        switch (index)\n")
+            .append("        {\n");
+        
+        for (int i = 0; i < constants.size(); i++)
+        {
+            if (type != null && !type.equals(types.get(i))) { continue; }
+            
+            code.append("            case ").append(i).append(": return ")
+                .append(source).append('.').append(constants.get(i)).append(";\n");
+        }
+        
+        String otherwise = (type == null)
+            ? "new java.lang.IndexOutOfBoundsException(index)"
+            : "new java.lang.IllegalArgumentException(\"Constant is not of type " + type + ": \" + index)";
+        
+        code.append("            default: throw ").append(otherwise).append(";\n")
+            .append("        }\n")
+            .append("    }\n");
+    }
+}
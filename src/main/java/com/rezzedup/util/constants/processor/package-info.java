@@ -0,0 +1,14 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+/**
+ * Compile-time annotation processing.
+ */
+@NonNullPackage
+package com.rezzedup.util.constants.processor;
+
+import pl.tlinkowski.annotation.basic.NonNullPackage;
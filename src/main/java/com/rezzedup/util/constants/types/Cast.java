@@ -12,6 +12,7 @@ import pl.tlinkowski.annotation.basic.NullOr;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Utilities for casting objects.
@@ -23,20 +24,61 @@ public class Cast
     
     private static final Unsafe UNSAFE = new Unsafe();
     
+    private static final ClassValue<Caster<?>> CASTERS = new ClassValue<>()
+    {
+        @Override
+        protected Caster<?> computeValue(Class<?> type) { return new Caster<>(type); }
+    };
+    
+    /**
+     * Gets the reusable caster for the specified type. Casters are cached per type,
+     * so repeated calls return the same instance.
+     *
+     * <p>Primitive types are treated as their boxed equivalents, since objects are always boxed.</p>
+     *
+     * @param type  type to cast into
+     * @param <T>   the type
+     *
+     * @return the caster for the type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Caster<T> caster(Class<T> type)
+    {
+        Objects.requireNonNull(type, "type");
+        return (Caster<T>) CASTERS.get(type);
+    }
+    
     /**
      * Attempts to cast an object into the specified type.
      *
+     * <p>Primitive types are treated as their boxed equivalents, since objects are always boxed.
+     * <b>Note:</b> this is a behavior change, since casting into a primitive type (such as
+     * {@code Cast.as(int.class, 1)}) previously never succeeded.</p>
+     *
      * @param type      type to cast into
      * @param object    object to cast
      * @param <T>       the type
      *
      * @return the successfully cast object, otherwise empty
      */
-    @SuppressWarnings("unchecked")
     public static <T> Optional<T> as(Class<T> type, @NullOr Object object)
     {
-        Objects.requireNonNull(type, "type");
-        return (type.isInstance(object)) ? Optional.of((T) object) : Optional.empty();
+        return caster(type).cast(object);
+    }
+    
+    /**
+     * Attempts to cast an object into the specified type without allocating an {@code Optional}.
+     *
+     * @param type      type to cast into
+     * @param object    object to cast
+     * @param <T>       the type
+     *
+     * @return the successfully cast object, otherwise {@code null}
+     * @see #as(Class, Object)
+     */
+    public static <T> @NullOr T asOrNull(Class<T> type, @NullOr Object object)
+    {
+        return caster(type).castOrNull(object);
     }
     
     /**
@@ -50,8 +92,7 @@ public class Cast
      */
     public static <T> Function<@NullOr Object, Optional<T>> as(Class<T> type)
     {
-        Objects.requireNonNull(type, "type");
-        return object -> as(type, object);
+        return caster(type).function;
     }
     
     /**
@@ -66,12 +107,10 @@ public class Cast
     @SuppressWarnings("unchecked")
     public static <T> Optional<T> optional(Class<T> type, Optional<?> optional)
     {
-        Objects.requireNonNull(type, "type");
+        Caster<T> caster = caster(type);
         Objects.requireNonNull(optional, "optional");
         
-        return (optional.isPresent() && type.isInstance(optional.get()))
-            ? (Optional<T>) optional
-            : Optional.empty();
+        return (optional.isPresent() && caster.test(optional.get())) ? (Optional<T>) optional : Optional.empty();
     }
     
     /**
@@ -107,11 +146,44 @@ public class Cast
          *
          * @return the potentially cast object, otherwise empty
          */
-        @SuppressWarnings("unchecked")
         public <T> Optional<T> generic(TypeCompatible<T> type, @NullOr Object object)
         {
-            Class<?> raw = TypeCapture.type(type).raw();
-            return (Optional<T>) as(raw, object);
+            return caster(type).cast(object);
+        }
+        
+        /**
+         * Attempts to cast an object into the specified generic type without allocating an {@code Optional}.
+         *
+         * <p><b>Warning:</b> since generic type information is erased, casting will "succeed"
+         * for <b>any</b> instance of a generic class.</p>
+         *
+         * @param type      generic type to cast into
+         * @param object    object to cast
+         * @param <T>       the generic type
+         *
+         * @return the potentially cast object, otherwise {@code null}
+         */
+        public <T> @NullOr T genericOrNull(TypeCompatible<T> type, @NullOr Object object)
+        {
+            return caster(type).castOrNull(object);
+        }
+        
+        /**
+         * Gets the reusable caster for the raw type of the specified generic type.
+         *
+         * <p><b>Warning:</b> since generic type information is erased, casting will "succeed"
+         * for <b>any</b> instance of a generic class.</p>
+         *
+         * @param type  generic type to cast into
+         * @param <T>   the generic type
+         *
+         * @return the caster for the generic type
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Caster<T> caster(TypeCompatible<T> type)
+        {
+            Objects.requireNonNull(type, "type");
+            return (Caster<T>) Cast.caster(TypeCapture.type(type).raw());
         }
         
         /**
@@ -128,8 +200,7 @@ public class Cast
          */
         public <T> Function<@NullOr Object, Optional<T>> generic(TypeCompatible<T> type)
         {
-            Objects.requireNonNull(type, "type");
-            return object -> generic(type, object);
+            return caster(type).function;
         }
         
         /**
@@ -151,4 +222,72 @@ public class Cast
             return (Optional<T>) optional(raw, optional);
         }
     }
+    
+    /**
+     * A reusable, immutable cast into a specific type.
+     *
+     * <p>Casters are obtained via {@link Cast#caster(Class)} and cached per type. Since each caster
+     * holds its (boxed) target type in a final field, checks in tight loops compile down to a plain
+     * type check, and {@link #test(Object)} and {@link #castOrNull(Object)} never allocate.</p>
+     *
+     * @param <T>   the type
+     */
+    public static final class Caster<T> implements Predicate<@NullOr Object>
+    {
+        private final Class<T> type;
+        private final Class<?> boxed;
+        private final Function<@NullOr Object, Optional<T>> function = this::cast;
+        
+        private Caster(Class<T> type)
+        {
+            this.type = type;
+            this.boxed = Primitives.boxed(type);
+        }
+        
+        /**
+         * Gets the type cast into.
+         *
+         * @return the type
+         */
+        public Class<T> type() { return type; }
+        
+        /**
+         * Checks whether an object can be cast into the type.
+         *
+         * @param object    object to check
+         *
+         * @return {@code true} if the object is a non-null instance of the (boxed) type, otherwise {@code false}
+         */
+        @Override
+        public boolean test(@NullOr Object object) { return boxed.isInstance(object); }
+        
+        /**
+         * Attempts to cast an object into the type.
+         *
+         * @param object    object to cast
+         *
+         * @return the successfully cast object, otherwise {@code null}
+         */
+        @SuppressWarnings("unchecked")
+        public @NullOr T castOrNull(@NullOr Object object)
+        {
+            return (boxed.isInstance(object)) ? (T) object : null;
+        }
+        
+        /**
+         * Attempts to cast an object into the type.
+         *
+         * @param object    object to cast
+         *
+         * @return the successfully cast object, otherwise empty
+         */
+        @SuppressWarnings("unchecked")
+        public Optional<T> cast(@NullOr Object object)
+        {
+            return (boxed.isInstance(object)) ? Optional.of((T) object) : Optional.empty();
+        }
+        
+        @Override
+        public String toString() { return "Caster{type=" + type.getName() + '}'; }
+    }
 }
@@ -68,6 +68,34 @@ public class Primitives
         return BOX_TO_PRIMITIVE.keySet();
     }
     
+    /**
+     * Gets the boxed equivalent of a type.
+     *
+     * @param type  the type
+     * @param <T>   the type
+     *
+     * @return the corresponding boxed type if the provided type is primitive, otherwise the provided type itself
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<T> boxed(Class<T> type)
+    {
+        return (Class<T>) PRIMITIVE_TO_BOX.getOrDefault(type, type);
+    }
+    
+    /**
+     * Gets the unboxed, purely-primitive equivalent of a type.
+     *
+     * @param type  the type
+     * @param <T>   the type
+     *
+     * @return the corresponding primitive type if the provided type is boxed, otherwise the provided type itself
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<T> unboxed(Class<T> type)
+    {
+        return (Class<T>) BOX_TO_PRIMITIVE.getOrDefault(type, type);
+    }
+    
     /**
      * Checks if an object is an instance of a boxed primitive.
      *
@@ -12,9 +12,12 @@ import pl.tlinkowski.annotation.basic.NullOr;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +26,10 @@ import java.util.stream.Collectors;
  * <p>In order to capture generic types, this class <b>must</b> be extended with explicit type parameters.
  * This should typically be done by instantiating an anonymous subclass and assigning it to a constant.</p>
  *
+ * <p>Captures created via the static {@code type(...)} methods are canonical: equal types share a single
+ * instance. Canonical captures are stored alongside the classes they refer to, so they never prevent those
+ * classes (or their class loaders) from unloading.</p>
+ *
  * <p>For example:</p>
  *
  * <pre>{@code
@@ -33,24 +40,27 @@ import java.util.stream.Collectors;
  */
 public abstract class TypeCapture<T> implements TypeCompatible<T>
 {
-    private static @NullOr TypeCapture<Object> ANY;
+    private static final ClassValue<TypeCapture<?>> CLASSES = new ClassValue<>()
+    {
+        @Override
+        protected TypeCapture<?> computeValue(Class<?> type) { return new Captured<>(type, true); }
+    };
+    
+    // Generic types keyed by the class whose loader can see every class they refer to.
+    private static final ClassValue<Map<Type, TypeCapture<?>>> GENERICS = new ClassValue<>()
+    {
+        @Override
+        protected Map<Type, TypeCapture<?>> computeValue(Class<?> type) { return new ConcurrentHashMap<>(); }
+    };
+    
+    private static final TypeCapture<Object> ANY = type(Object.class);
     
     /**
      * Gets the constant {@code Object} type capture.
      *
      * @return object class type capture
      */
-    public static TypeCapture<Object> any()
-    {
-        if (ANY == null) { ANY = new Captured<>(Object.class); }
-        return ANY;
-    }
-    
-    @SuppressWarnings("unchecked")
-    private static <T> TypeCapture<T> anything()
-    {
-        return (TypeCapture<T>) any();
-    }
+    public static TypeCapture<Object> any() { return ANY; }
     
     /**
      * Captures the type directly from a non-generic class.
@@ -60,10 +70,11 @@ public abstract class TypeCapture<T> implements TypeCompatible<T>
      *
      * @return the captured type
      */
+    @SuppressWarnings("unchecked")
     public static <T> TypeCapture<T> type(Class<T> type)
     {
-        if (type == Object.class) { return anything(); }
-        return new Captured<>(type);
+        Objects.requireNonNull(type, "type");
+        return (TypeCapture<T>) CLASSES.get(type);
     }
     
     /**
@@ -75,8 +86,23 @@ public abstract class TypeCapture<T> implements TypeCompatible<T>
      */
     public static TypeCapture<?> type(Type type)
     {
-        if (type == Object.class) { return anything(); }
-        return new Captured<>(type);
+        Objects.requireNonNull(type, "type");
+        if (type instanceof Class) { return CLASSES.get((Class<?>) type); }
+        
+        @NullOr Class<?> anchor = anchor(type);
+        
+        // Types referring to classes from unrelated class loaders can't be cached without
+        // potentially leaking one of them, so they're simply captured anew.
+        if (anchor == null) { return new Captured<>(type, false); }
+        
+        Map<Type, TypeCapture<?>> captures = GENERICS.get(anchor);
+        @NullOr TypeCapture<?> existing = captures.get(type);
+        if (existing != null) { return existing; }
+        
+        // Created outside of the map since resolving generic parameters captures them recursively.
+        TypeCapture<?> created = new Captured<>(type, true);
+        existing = captures.putIfAbsent(type, created);
+        return (existing != null) ? existing : created;
     }
     
     /**
@@ -87,23 +113,99 @@ public abstract class TypeCapture<T> implements TypeCompatible<T>
      *
      * @return the captured type
      */
+    @SuppressWarnings("unchecked")
     public static <T> TypeCapture<T> type(TypeCompatible<T> type)
     {
         if (type instanceof TypeCapture) { return (TypeCapture<T>) type; }
-        if (type.type() == Object.class) { return anything(); }
-        return new Captured<>(type.type());
+        return (TypeCapture<T>) type(type.type());
+    }
+    
+    // Finds the class with the most specific class loader referred to by the type, or null if
+    // the type refers to classes from unrelated class loaders (or isn't supported).
+    private static @NullOr Class<?> anchor(Type type)
+    {
+        List<Class<?>> classes = new ArrayList<>();
+        if (!collectClasses(type, classes)) { return null; }
+        
+        Class<?> anchor = classes.get(0);
+        
+        for (Class<?> clazz : classes)
+        {
+            if (isAncestor(clazz.getClassLoader(), anchor.getClassLoader())) { continue; }
+            if (!isAncestor(anchor.getClassLoader(), clazz.getClassLoader())) { return null; }
+            anchor = clazz;
+        }
+        
+        return anchor;
+    }
+    
+    private static boolean collectClasses(Type type, List<Class<?>> classes)
+    {
+        if (type instanceof Class)
+        {
+            classes.add((Class<?>) type);
+            return true;
+        }
+        else if (type instanceof ParameterizedType)
+        {
+            ParameterizedType generic = (ParameterizedType) type;
+            @NullOr Type owner = generic.getOwnerType();
+            
+            if (!collectClasses(generic.getRawType(), classes)) { return false; }
+            if (owner != null && !collectClasses(owner, classes)) { return false; }
+            
+            for (Type parameter : generic.getActualTypeArguments())
+            {
+                if (!collectClasses(parameter, classes)) { return false; }
+            }
+            
+            return true;
+        }
+        else if (type instanceof WildcardType)
+        {
+            WildcardType wildcard = (WildcardType) type;
+            
+            for (Type bound : wildcard.getUpperBounds())
+            {
+                if (!collectClasses(bound, classes)) { return false; }
+            }
+            for (Type bound : wildcard.getLowerBounds())
+            {
+                if (!collectClasses(bound, classes)) { return false; }
+            }
+            
+            return true;
+        }
+        
+        return false;
+    }
+    
+    private static boolean isAncestor(@NullOr ClassLoader ancestor, @NullOr ClassLoader loader)
+    {
+        if (ancestor == null) { return true; }
+        
+        for (@NullOr ClassLoader current = loader; current != null; current = current.getParent())
+        {
+            if (current == ancestor) { return true; }
+        }
+        
+        return false;
     }
     
     private final Type type;
     private final Class<? super T> raw;
     private final List<TypeCapture<?>> generics;
+    private final int hash;
+    private final boolean isCanonical;
     
-    TypeCapture(Type type)
+    TypeCapture(Type type, boolean isCanonical)
     {
         Objects.requireNonNull(type, "type");
         this.type = type;
         this.raw = resolveRawType(type);
         this.generics = resolveGenericParameters(type);
+        this.hash = type.hashCode();
+        this.isCanonical = isCanonical;
     }
     
     /**
@@ -116,6 +218,8 @@ public abstract class TypeCapture<T> implements TypeCompatible<T>
         this.type = ((ParameterizedType) superclass).getActualTypeArguments()[0];
         this.raw = resolveRawType(type);
         this.generics = resolveGenericParameters(type);
+        this.hash = type.hashCode();
+        this.isCanonical = false;
     }
     
     @Override
@@ -160,13 +264,17 @@ public abstract class TypeCapture<T> implements TypeCompatible<T>
         
         TypeCapture<?> that = (TypeCapture<?>) o;
         
-        return type.equals(that.type)
+        // Canonical captures are unique per type.
+        if (isCanonical && that.isCanonical) { return false; }
+        
+        return hash == that.hash
+            && type.equals(that.type)
             && raw.equals(that.raw)
             && generics.equals(that.generics);
     }
     
     @Override
-    public final int hashCode() { return type.hashCode(); }
+    public final int hashCode() { return hash; }
     
     @SuppressWarnings("unchecked")
     private static <T> Class<? super T> resolveRawType(Type type)
@@ -209,6 +317,6 @@ public abstract class TypeCapture<T> implements TypeCompatible<T>
     
     private static final class Captured<T> extends TypeCapture<T>
     {
-        Captured(Type type) { super(type); }
+        Captured(Type type, boolean isCanonical) { super(type, isCanonical); }
     }
 }
@@ -13,9 +13,13 @@
 module com.rezzedup.util.constants
 {
     requires static pl.tlinkowski.annotation.basic;
+    requires static java.compiler;
     
     exports com.rezzedup.util.constants;
     exports com.rezzedup.util.constants.annotations;
     exports com.rezzedup.util.constants.exceptions;
+    exports com.rezzedup.util.constants.processor;
     exports com.rezzedup.util.constants.types;
+    
+    provides javax.annotation.processing.Processor with com.rezzedup.util.constants.processor.ConstantIndexProcessor;
 }
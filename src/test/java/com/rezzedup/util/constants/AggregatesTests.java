@@ -9,13 +9,25 @@ package com.rezzedup.util.constants;
 
 import com.rezzedup.util.constants.annotations.AggregatedResult;
 import com.rezzedup.util.constants.annotations.NotAggregated;
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import com.rezzedup.util.constants.exceptions.MultiSourceAggregationException;
 import com.rezzedup.util.constants.types.TypeCapture;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import pl.tlinkowski.annotation.basic.NullOr;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,6 +73,160 @@ public class AggregatesTests
                 .toSet();
     }
     
+    @SuppressWarnings("unused")
+    public static class PrivateData
+    {
+        private static final String SECRET_NAME = "Hidden";
+        
+        private static final String SECRET_WORD = "Whisper";
+        
+        private static final int SECRET_NUMBER = 42;
+    }
+    
+    @SuppressWarnings("unused")
+    public static class NumericData
+    {
+        static final int STATUS_OK = 200;
+        
+        static final Integer STATUS_NOT_FOUND = 404;
+        
+        static final long LIMIT_BYTES = 1L << 40;
+        
+        static final Long LIMIT_FILES = 10_000L;
+        
+        static final double RATIO_GOLDEN = 1.618;
+        
+        static final Number RATIO_HALF = 0.5;
+        
+        static final String STATUS_NAME = "OK";
+    }
+    
+    @SuppressWarnings("unused")
+    public static class TableData
+    {
+        static final String TABLE_NAME = "lookup";
+        
+        static final List<String> TABLE_ROWS = List.of("first", "second", "third");
+        
+        static final Set<String> TABLE_TAGS = Set.of("tag");
+        
+        static final List<Object> TABLE_MIXED = List.of("mixed", 1, "types");
+    }
+    
+    @SuppressWarnings("unused")
+    public static class ArrayData
+    {
+        static final String[] TABLE_NAMES = {"first", "second", "third"};
+        
+        static final Object[] TABLE_MIXED = {"mixed", 1, "types"};
+        
+        static final int[] TABLE_SIZES = {1, 2, 3};
+        
+        static final Integer[] TABLE_LIMITS = {10, null, 20};
+        
+        static final long[] TABLE_IDS = {100L, 200L};
+        
+        static final int TABLE_COUNT = 3;
+    }
+    
+    @SuppressWarnings("unused")
+    public static class CodeData
+    {
+        static final String CODE_NAME = "codes";
+        
+        static class Http
+        {
+            static final int NOT_FOUND = 404;
+            
+            static final int TIMEOUT = 408;
+            
+            static class Redirect
+            {
+                static final int MOVED = 301;
+            }
+        }
+        
+        static class Db
+        {
+            static final int TIMEOUT = 1205;
+        }
+        
+        @NotAggregated
+        static class Internal
+        {
+            static final int SECRET = -1;
+        }
+    }
+    
+    @SuppressWarnings("unused")
+    public static class RegistryData
+    {
+        static final Map<String, Integer> PORTS = new TreeMap<>(Map.of("http", 80, "https", 443));
+        
+        static final Map<Integer, Object> STATUSES = new TreeMap<>(Map.of(200, "OK", 404, 8));
+        
+        static final int PORT_COUNT = 2;
+        
+        static class Nested
+        {
+            static final Map<String, Integer> LIMITS = Map.of("max", 10);
+        }
+    }
+    
+    public interface ProtocolData
+    {
+        int PROTOCOL_VERSION = 7;
+        
+        String PROTOCOL_NAME = "protocol";
+    }
+    
+    @SuppressWarnings("unused")
+    public static class BaseData
+    {
+        static final int BASE_VERSION = 1;
+        
+        static final String NAME = "base";
+        
+        static final String BASE_NAME = "hidden";
+    }
+    
+    @SuppressWarnings("unused")
+    public static class DerivedData extends BaseData implements ProtocolData
+    {
+        static final int DERIVED_VERSION = 2;
+        
+        static final String NAME = "derived";
+        
+        @NotAggregated
+        static final String BASE_NAME = "hides";
+    }
+    
+    @SuppressWarnings("unused")
+    public static class BrokenData
+    {
+        static final String BROKEN_NAME = fail();
+        
+        static String fail() { throw new IllegalStateException("Broken"); }
+    }
+    
+    @SuppressWarnings("unused")
+    public static class OtherBrokenData
+    {
+        static final String BROKEN_NAME = BrokenData.fail();
+    }
+    
+    @SuppressWarnings("unused")
+    public static class SelfAggregatingData
+    {
+        static final String FIRST = "first";
+        
+        // Aggregated while this class is still being initialized, with itself as a parallel source.
+        static final List<String> ALL = Aggregates.from(NumericData.class, SelfAggregatingData.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.any("STATUS", "FIRST"))
+            .toList();
+    }
+    
     @Nested
     @DisplayName("with simple data")
     public class SimpleDataTest
@@ -144,4 +310,627 @@ public class AggregatesTests
             assertEquals(4, curses.size());
         }
     }
+    
+    @Nested
+    @DisplayName("with a caller-provided lookup")
+    public class LookupTest
+    {
+        @Test
+        @DisplayName("reads private constants without deep reflection")
+        public void readsPrivateConstants()
+        {
+            List<String> secrets = Aggregates.from(PrivateData.class, MethodHandles.lookup())
+                .constantsOfType(String.class)
+                .toList();
+            
+            assertEquals(List.of("Hidden", "Whisper"), secrets);
+        }
+        
+        @Test
+        @DisplayName("reads constants from the lookup class")
+        public void readsLookupClassConstants() throws IllegalAccessException
+        {
+            List<Integer> numbers = Aggregates.from(MethodHandles.privateLookupIn(SimpleData.class, MethodHandles.lookup()))
+                .constantsOfType(Integer.class)
+                .toList();
+            
+            assertEquals(List.of(SimpleData.LUCKY_NUMBER, SimpleData.CURSED_NUMBER), numbers);
+        }
+        
+        @Test
+        @DisplayName("never reads with access rights resolved by another lookup")
+        public void isolatesLookups()
+        {
+            Aggregates.Pending.Aggregation<String> publicSecrets =
+                Aggregates.from(PrivateData.class, MethodHandles.publicLookup()).constantsOfType(String.class);
+            
+            assertThrows(AggregationException.class, publicSecrets::toList);
+            
+            assertEquals(List.of("Hidden", "Whisper"), Aggregates.from(PrivateData.class).constantsOfType(String.class).toList());
+            assertEquals(
+                List.of("Hidden", "Whisper"),
+                Aggregates.from(PrivateData.class, MethodHandles.lookup()).constantsOfType(String.class).toList()
+            );
+            
+            assertThrows(AggregationException.class, publicSecrets::toList);
+            
+            // Fields handed out to callers are never made accessible.
+            Field secret = Constants.in(PrivateData.class).streamAllFields().findFirst().orElseThrow();
+            assertThrows(IllegalAccessException.class, () -> MethodHandles.publicLookup().unreflectGetter(secret));
+        }
+    }
+    
+    @Nested
+    @DisplayName("as a map of constants by name")
+    public class MapTest
+    {
+        @Test
+        @DisplayName("looks up constants by name in aggregation order")
+        public void looksUpByName()
+        {
+            Map<String, Constant<String>> names = Aggregates.from(SimpleData.class)
+                .constantsOfType(String.class)
+                .matching(match -> match.all("NAME"))
+                .toMap();
+            
+            assertEquals(List.of("FIRST_NAME", "LAST_NAME", "BINGO_NAME_O"), List.copyOf(names.keySet()));
+            assertEquals(SimpleData.LAST_NAME, names.get("LAST_NAME").value());
+            assertNull(names.get("FAKE_NAME"));
+            assertNull(names.get("MAGIC_WORD"));
+            assertThrows(UnsupportedOperationException.class, () -> names.remove("FIRST_NAME"));
+        }
+        
+        @Test
+        @DisplayName("shares a single map when cached")
+        public void sharesCachedMap()
+        {
+            AggregationCache cache = AggregationCache.create();
+            
+            Map<String, Constant<Integer>> numbers =
+                Aggregates.from(SimpleData.class).constantsOfType(Integer.class).cached(cache).toMap();
+            
+            assertSame(numbers, Aggregates.from(SimpleData.class).constantsOfType(Integer.class).cached(cache).toMap());
+            assertEquals(Map.of("LUCKY_NUMBER", 7, "CURSED_NUMBER", 13).keySet(), numbers.keySet());
+        }
+        
+        @Test
+        @DisplayName("rejects duplicate names from collections")
+        public void rejectsDuplicates()
+        {
+            assertThrows(IllegalStateException.class, () ->
+                Aggregates.from(SimpleData.class)
+                    .constantsOfType(String.class)
+                    .matching(match -> match.all("GREETING").collections(true))
+                    .toMap()
+            );
+        }
+    }
+    
+    @Nested
+    @DisplayName("as primitives")
+    public class PrimitiveTest
+    {
+        @Test
+        @DisplayName("aggregates primitive and boxed ints")
+        public void aggregatesInts()
+        {
+            assertArrayEquals(new int[] {200, 404}, Aggregates.from(NumericData.class).constantsOfInt().toIntArray());
+            assertArrayEquals(
+                new int[] {404},
+                Aggregates.from(NumericData.class).constantsOfInt().matching(match -> match.all("FOUND")).toIntArray()
+            );
+            assertEquals(604, Aggregates.from(NumericData.class).constantsOfInt().intStream().sum());
+        }
+        
+        @Test
+        @DisplayName("aggregates primitive and boxed longs and doubles")
+        public void aggregatesLongsAndDoubles()
+        {
+            assertArrayEquals(
+                new long[] {1L << 40, 10_000L},
+                Aggregates.from(NumericData.class).constantsOfLong().toLongArray()
+            );
+            assertArrayEquals(
+                new double[] {1.618, 0.5},
+                Aggregates.from(NumericData.class).constantsOfDouble().toDoubleArray()
+            );
+        }
+        
+        @Test
+        @DisplayName("matches primitive constant types")
+        public void matchesPrimitiveTypes()
+        {
+            assertEquals(List.of(200, 404), Aggregates.from(NumericData.class).constantsOfType(int.class).toList());
+        }
+    }
+    
+    @Nested
+    @DisplayName("from multiple sources")
+    public class MultiSourceTest
+    {
+        @Test
+        @DisplayName("merges results in source order")
+        public void mergesInOrder()
+        {
+            List<String> statuses = Aggregates.from(NumericData.class, SimpleData.class, NumericData.class)
+                .constantsOfType(String.class)
+                .matching(match -> match.any("STATUS", "LAST"))
+                .toList();
+            
+            assertEquals(List.of("OK", "Doe"), statuses);
+        }
+        
+        @Test
+        @DisplayName("streams merged results with an exact size")
+        public void streamsSized()
+        {
+            Spliterator<Constant<Integer>> numbers = Aggregates.from(SimpleData.class, NumericData.class)
+                .constantsOfType(Integer.class)
+                .stream()
+                .spliterator();
+            
+            assertTrue(numbers.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+            assertEquals(4, numbers.getExactSizeIfKnown());
+        }
+        
+        @Test
+        @DisplayName("aggregates on the provided executor")
+        public void usesExecutor()
+        {
+            List<Runnable> tasks = new ArrayList<>();
+            
+            List<Integer> numbers = Aggregates.from(List.of(SimpleData.class, NumericData.class, PrivateData.class))
+                .constantsOfType(Integer.class)
+                .executor(task -> { tasks.add(task); task.run(); })
+                .toList();
+            
+            assertEquals(List.of(7, 13, 200, 404, 42), numbers);
+            
+            // The calling thread aggregates the first source itself.
+            assertEquals(2, tasks.size());
+        }
+        
+        @Test
+        @DisplayName("reports all failures together")
+        public void reportsAllFailures()
+        {
+            MultiSourceAggregationException exception = assertThrows(
+                MultiSourceAggregationException.class,
+                () -> Aggregates.from(BrokenData.class, SimpleData.class, OtherBrokenData.class)
+                    .constantsOfType(String.class)
+                    .toList()
+            );
+            
+            assertEquals(List.of(BrokenData.class, OtherBrokenData.class), List.copyOf(exception.failures().keySet()));
+            assertEquals(1, exception.getSuppressed().length);
+        }
+        
+        @Test
+        @DisplayName("aggregates from within a source's static initializer")
+        public void aggregatesWhileInitializing()
+        {
+            List<String> all = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> SelfAggregatingData.ALL);
+            assertEquals(List.of("OK", "first"), all);
+        }
+    }
+    
+    @Nested
+    @DisplayName("with a visitor")
+    public class VisitorTest
+    {
+        @Test
+        @DisplayName("visits the same constants as the stream")
+        public void visitsLikeStream()
+        {
+            for (@NullOr AggregationCache cache : Arrays.asList(null, AggregationCache.create()))
+            {
+                Aggregates.Pending.Aggregation<String> words = Aggregates.from(SimpleData.class)
+                    .constantsOfType(String.class)
+                    .matching(match -> match.collections(true));
+                
+                if (cache != null) { words.cached(cache); }
+                
+                List<String> visited = new ArrayList<>();
+                words.forEach((source, name, value, isFromCollection) ->
+                {
+                    assertEquals(SimpleData.class, source);
+                    visited.add(name + "=" + value + ":" + isFromCollection);
+                });
+                
+                List<String> streamed = words.stream()
+                    .map(c -> c.name() + "=" + c.value() + ":" + c.isFromCollection())
+                    .collect(Collectors.toList());
+                
+                assertEquals(streamed, visited);
+            }
+        }
+        
+        @Test
+        @DisplayName("visits multiple sources in order and reports failures")
+        public void visitsMultipleSources()
+        {
+            List<Integer> numbers = new ArrayList<>();
+            
+            Aggregates.from(SimpleData.class, NumericData.class)
+                .constantsOfType(Integer.class)
+                .forEach((source, name, value, isFromCollection) -> numbers.add(value));
+            
+            assertEquals(List.of(7, 13, 200, 404), numbers);
+            
+            MultiSourceAggregationException exception = assertThrows(
+                MultiSourceAggregationException.class,
+                () -> Aggregates.from(BrokenData.class, SimpleData.class)
+                    .constantsOfType(String.class)
+                    .forEach((source, name, value, isFromCollection) -> {})
+            );
+            
+            assertEquals(List.of(BrokenData.class), List.copyOf(exception.failures().keySet()));
+        }
+        
+        @Test
+        @DisplayName("propagates visitor exceptions unchanged")
+        public void propagatesVisitorExceptions()
+        {
+            List<String> visited = new ArrayList<>();
+            IllegalStateException stop = new IllegalStateException("Stop");
+            
+            IllegalStateException thrown = assertThrows(
+                IllegalStateException.class,
+                () -> Aggregates.from(SimpleData.class, NumericData.class)
+                    .constantsOfType(Integer.class)
+                    .forEach((source, name, value, isFromCollection) ->
+                    {
+                        visited.add(name);
+                        throw stop;
+                    })
+            );
+            
+            assertSame(stop, thrown);
+            assertEquals(List.of("LUCKY_NUMBER"), visited);
+        }
+    }
+    
+    @Nested
+    @DisplayName("as a lazy view of values")
+    public class ValuesTest
+    {
+        @Test
+        @DisplayName("contains the same values as the list")
+        public void sameAsList()
+        {
+            Aggregates.Pending.Aggregation<String> words = Aggregates.from(SimpleData.class)
+                .constantsOfType(String.class)
+                .matching(match -> match.all("WORD").collections(true));
+            
+            assertEquals(words.toList(), words.values());
+            assertEquals(words.stream().map(Constant::value).collect(Collectors.toList()), words.values());
+        }
+        
+        @Test
+        @DisplayName("views collection elements in order with an exact size")
+        public void viewsCollections()
+        {
+            List<String> values = Aggregates.from(TableData.class)
+                .constantsOfType(String.class)
+                .matching(match -> match.collections(true))
+                .values();
+            
+            assertEquals(List.of("lookup", "first", "second", "third", "tag", "mixed", "types"), values);
+            assertEquals(7, values.size());
+            assertEquals("third", values.get(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> values.get(7));
+            assertThrows(UnsupportedOperationException.class, () -> values.add("nope"));
+        }
+        
+        @Test
+        @DisplayName("views values from multiple sources")
+        public void viewsMultipleSources()
+        {
+            List<Integer> numbers = Aggregates.from(SimpleData.class, TableData.class, NumericData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.collections(true))
+                .values();
+            
+            assertEquals(List.of(7, 13, 1, 200, 404), numbers);
+        }
+        
+        @Test
+        @DisplayName("unpacks collections into primitives")
+        public void unpacksPrimitives()
+        {
+            assertArrayEquals(new int[0], Aggregates.from(TableData.class).constantsOfInt().toIntArray());
+            
+            int[] numbers = Aggregates.from(TableData.class)
+                .constantsOfInt()
+                .matching(match -> match.collections(true))
+                .toIntArray();
+            
+            assertArrayEquals(new int[] {1}, numbers);
+        }
+    }
+    
+    @Nested
+    @DisplayName("with nested classes")
+    public class NestedTest
+    {
+        @Test
+        @DisplayName("only aggregates nested classes when enabled")
+        public void onlyWhenEnabled()
+        {
+            assertEquals(List.of(), Aggregates.from(CodeData.class).constantsOfType(Integer.class).toList());
+            
+            List<Integer> codes = Aggregates.from(CodeData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.nested(true))
+                .toList();
+            
+            assertEquals(List.of(1205, 404, 408, 301), codes);
+        }
+        
+        @Test
+        @DisplayName("qualifies paths with nested class names in order")
+        public void qualifiesPaths()
+        {
+            for (@NullOr AggregationCache cache : Arrays.asList(null, AggregationCache.create()))
+            {
+                Aggregates.Pending.Aggregation<Integer> codes = Aggregates.from(CodeData.class)
+                    .constantsOfType(Integer.class)
+                    .matching(match -> match.nested(true));
+                
+                if (cache != null) { codes.cached(cache); }
+                
+                Map<String, Constant<Integer>> byPath = codes.toMap();
+                
+                assertEquals(
+                    List.of("Db.TIMEOUT", "Http.NOT_FOUND", "Http.TIMEOUT", "Http.Redirect.MOVED"),
+                    List.copyOf(byPath.keySet())
+                );
+                assertEquals(1205, byPath.get("Db.TIMEOUT").value());
+                assertEquals("TIMEOUT", byPath.get("Db.TIMEOUT").name());
+                assertEquals(CodeData.Db.class, byPath.get("Db.TIMEOUT").source());
+                assertEquals(CodeData.Http.Redirect.class, byPath.get("Http.Redirect.MOVED").source());
+            }
+        }
+        
+        @Test
+        @DisplayName("matches unqualified names")
+        public void matchesNames()
+        {
+            List<String> timeouts = Aggregates.from(CodeData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.nested(true).all("TIMEOUT"))
+                .stream()
+                .map(Constant::path)
+                .collect(Collectors.toList());
+            
+            assertEquals(List.of("Db.TIMEOUT", "Http.TIMEOUT"), timeouts);
+            
+            assertArrayEquals(
+                new int[] {1205, 404, 408, 301},
+                Aggregates.from(CodeData.class).constantsOfInt().matching(match -> match.nested(true)).toIntArray()
+            );
+        }
+        
+        @Test
+        @DisplayName("visits nested sources")
+        public void visitsNestedSources()
+        {
+            List<String> visited = new ArrayList<>();
+            
+            Aggregates.from(CodeData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.nested(true).all("TIMEOUT"))
+                .forEach((source, name, value, isFromCollection) -> visited.add(source.getSimpleName() + "." + name));
+            
+            assertEquals(List.of("Db.TIMEOUT", "Http.TIMEOUT"), visited);
+        }
+    }
+    
+    @Nested
+    @DisplayName("with arrays")
+    public class ArrayTest
+    {
+        @Test
+        @DisplayName("only aggregates array elements when enabled")
+        public void onlyWhenEnabled()
+        {
+            assertEquals(List.of(), Aggregates.from(ArrayData.class).constantsOfType(String.class).toList());
+            
+            List<String[]> arrays = Aggregates.from(ArrayData.class).constantsOfType(String[].class).toList();
+            assertEquals(1, arrays.size());
+            assertSame(ArrayData.TABLE_NAMES, arrays.get(0));
+        }
+        
+        @Test
+        @DisplayName("aggregates elements of object and primitive arrays")
+        public void aggregatesElements()
+        {
+            for (@NullOr AggregationCache cache : Arrays.asList(null, AggregationCache.create()))
+            {
+                Aggregates.Pending.Aggregation<Integer> numbers = Aggregates.from(ArrayData.class)
+                    .constantsOfType(Integer.class)
+                    .matching(match -> match.arrays(true));
+                
+                if (cache != null) { numbers.cached(cache); }
+                
+                assertEquals(List.of(1, 1, 2, 3, 10, 20, 3), numbers.toList());
+                assertEquals(List.of(1, 1, 2, 3, 10, 20, 3), numbers.values());
+                assertTrue(numbers.stream().limit(6).allMatch(Constant::isFromCollection));
+                assertFalse(numbers.stream().skip(6).findFirst().orElseThrow().isFromCollection());
+                
+                List<String> visited = new ArrayList<>();
+                numbers.forEach((source, name, value, isFromCollection) -> visited.add(name + "=" + value));
+                
+                assertEquals(
+                    List.of(
+                        "TABLE_MIXED=1", "TABLE_SIZES=1", "TABLE_SIZES=2", "TABLE_SIZES=3",
+                        "TABLE_LIMITS=10", "TABLE_LIMITS=20", "TABLE_COUNT=3"
+                    ),
+                    visited
+                );
+            }
+        }
+        
+        @Test
+        @DisplayName("views arrays in place")
+        public void viewsInPlace()
+        {
+            List<String> names = Aggregates.from(ArrayData.class)
+                .constantsOfType(String.class)
+                .matching(match -> match.arrays(true))
+                .values();
+            
+            assertEquals(List.of("first", "second", "third", "mixed", "types"), names);
+            assertThrows(UnsupportedOperationException.class, () -> names.set(0, "nope"));
+            
+            List<Long> ids = Aggregates.from(ArrayData.class)
+                .constantsOfType(Long.class)
+                .matching(match -> match.arrays(true))
+                .values();
+            
+            assertEquals(List.of(100L, 200L), ids);
+        }
+        
+        @Test
+        @DisplayName("unpacks arrays into primitives")
+        public void unpacksPrimitives()
+        {
+            assertArrayEquals(
+                new int[] {1, 1, 2, 3, 10, 20, 3},
+                Aggregates.from(ArrayData.class).constantsOfInt().matching(match -> match.arrays(true)).toIntArray()
+            );
+            
+            assertArrayEquals(
+                new long[] {100L, 200L},
+                Aggregates.from(ArrayData.class).constantsOfLong().matching(match -> match.arrays(true)).toLongArray()
+            );
+            
+            assertArrayEquals(new int[] {3}, Aggregates.from(ArrayData.class).constantsOfInt().toIntArray());
+        }
+    }
+    
+    @Nested
+    @DisplayName("with inherited constants")
+    public class InheritedTest
+    {
+        @Test
+        @DisplayName("only aggregates inherited constants when enabled")
+        public void onlyWhenEnabled()
+        {
+            assertEquals(List.of(2), Aggregates.from(DerivedData.class).constantsOfType(Integer.class).toList());
+            
+            List<Integer> versions = Aggregates.from(DerivedData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.inherited(true))
+                .toList();
+            
+            assertEquals(List.of(2, 7, 1), versions);
+        }
+        
+        @Test
+        @DisplayName("hides inherited constants of the same name")
+        public void hidesInherited()
+        {
+            for (@NullOr AggregationCache cache : Arrays.asList(null, AggregationCache.create()))
+            {
+                Aggregates.Pending.Aggregation<String> names = Aggregates.from(DerivedData.class)
+                    .constantsOfType(String.class)
+                    .matching(match -> match.inherited(true));
+                
+                if (cache != null) { names.cached(cache); }
+                
+                Map<String, Constant<String>> byName = names.toMap();
+                
+                assertEquals(List.of("NAME", "PROTOCOL_NAME"), List.copyOf(byName.keySet()));
+                assertEquals("derived", byName.get("NAME").value());
+                assertEquals(DerivedData.class, byName.get("NAME").source());
+                assertEquals(ProtocolData.class, byName.get("PROTOCOL_NAME").source());
+            }
+        }
+        
+        @Test
+        @DisplayName("aggregates inherited primitives")
+        public void aggregatesPrimitives()
+        {
+            assertArrayEquals(
+                new int[] {2, 7, 1},
+                Aggregates.from(DerivedData.class).constantsOfInt().matching(match -> match.inherited(true)).toIntArray()
+            );
+            
+            assertArrayEquals(
+                new int[] {1},
+                Aggregates.from(BaseData.class).constantsOfInt().matching(match -> match.inherited(true)).toIntArray()
+            );
+        }
+    }
+    
+    @Nested
+    @DisplayName("with maps")
+    public class MapValuesTest
+    {
+        @Test
+        @DisplayName("only aggregates map values when enabled")
+        public void onlyWhenEnabled()
+        {
+            assertEquals(List.of(2), Aggregates.from(RegistryData.class).constantsOfType(Integer.class).toList());
+            
+            List<Integer> values = Aggregates.from(RegistryData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.maps(true))
+                .values();
+            
+            assertEquals(List.of(80, 443, 8, 2), values);
+        }
+        
+        @Test
+        @DisplayName("names map values by their keys")
+        public void namesByKeys()
+        {
+            for (@NullOr AggregationCache cache : Arrays.asList(null, AggregationCache.create()))
+            {
+                Aggregates.Pending.Aggregation<Integer> ports = Aggregates.from(RegistryData.class)
+                    .constantsOfType(Integer.class)
+                    .matching(match -> match.all("PORTS").maps(true));
+                
+                if (cache != null) { ports.cached(cache); }
+                
+                Map<String, Constant<Integer>> byKey = ports.toMap();
+                
+                assertEquals(List.of("http", "https"), List.copyOf(byKey.keySet()));
+                assertEquals(443, byKey.get("https").value());
+                assertTrue(byKey.get("https").isFromCollection());
+                
+                List<String> visited = new ArrayList<>();
+                ports.forEach((source, name, value, isFromCollection) -> visited.add(name + "=" + value));
+                
+                assertEquals(List.of("http=80", "https=443"), visited);
+            }
+        }
+        
+        @Test
+        @DisplayName("qualifies keys of nested maps")
+        public void qualifiesNestedKeys()
+        {
+            List<String> paths = Aggregates.from(RegistryData.class)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.maps(true).nested(true))
+                .stream()
+                .map(constant -> constant.path() + "=" + constant.value())
+                .collect(Collectors.toList());
+            
+            assertEquals(List.of("http=80", "https=443", "404=8", "PORT_COUNT=2", "Nested.max=10"), paths);
+        }
+        
+        @Test
+        @DisplayName("unpacks map values into primitives")
+        public void unpacksPrimitives()
+        {
+            assertArrayEquals(new int[] {2}, Aggregates.from(RegistryData.class).constantsOfInt().toIntArray());
+            
+            assertArrayEquals(
+                new int[] {80, 443, 8, 2},
+                Aggregates.from(RegistryData.class).constantsOfInt().matching(match -> match.maps(true)).toIntArray()
+            );
+        }
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.annotations.AggregatedResult;
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AggregationCache")
+public class AggregationCacheTests
+{
+    @SuppressWarnings("unused")
+    public static class Data
+    {
+        static final String FIRST = "first";
+        
+        static final String SECOND = "second";
+        
+        static final Integer NUMBER = 1;
+    }
+    
+    @SuppressWarnings("unused")
+    public static class SelfAggregating
+    {
+        static final AggregationCache CACHE = AggregationCache.create();
+        
+        // Aggregated before LATE is initialized, so this result must not be cached.
+        @AggregatedResult
+        static final List<String> EARLY =
+            Aggregates.fromThisClass().constantsOfType(String.class).cached(CACHE).toList();
+        
+        static final String LATE = new String("late");
+    }
+    
+    public static class PublicData
+    {
+        public static final String NAME = "public";
+    }
+    
+    public static class Anchor {}
+    
+    static List<String> strings(AggregationCache cache)
+    {
+        return Aggregates.from(Data.class).constantsOfType(String.class).cached(cache).toList();
+    }
+    
+    @Test
+    @DisplayName("counts hits and misses")
+    public void countsHitsAndMisses()
+    {
+        AggregationCache cache = AggregationCache.create();
+        
+        assertEquals(List.of("first", "second"), strings(cache));
+        assertEquals(List.of("first", "second"), strings(cache));
+        assertEquals(List.of(1), Aggregates.from(Data.class).constantsOfType(Integer.class).cached(cache).toList());
+        
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.missCount());
+        assertEquals(2, cache.estimatedSize());
+    }
+    
+    @Test
+    @DisplayName("shares a single load between concurrent misses")
+    public void singleFlight() throws Exception
+    {
+        AggregationCache cache = AggregationCache.create();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        
+        try
+        {
+            for (int i = 0; i < 32; i++)
+            {
+                results.add(executor.submit(() -> { start.await(); return strings(cache); }));
+            }
+            
+            start.countDown();
+            for (Future<List<String>> result : results) { assertEquals(List.of("first", "second"), result.get()); }
+        }
+        finally { executor.shutdownNow(); }
+        
+        assertEquals(1, cache.missCount());
+        assertEquals(31, cache.hitCount());
+    }
+    
+    @Test
+    @DisplayName("evicts the oldest results when exceeding its maximum size")
+    public void evictsOldest()
+    {
+        AggregationCache cache = AggregationCache.builder().maximumSize(1).build();
+        
+        strings(cache);
+        Aggregates.from(Data.class).constantsOfType(Integer.class).cached(cache).toList();
+        strings(cache);
+        
+        assertEquals(0, cache.hitCount());
+        assertEquals(3, cache.missCount());
+        assertEquals(1, cache.estimatedSize());
+    }
+    
+    @Test
+    @DisplayName("doesn't cache results from partially initialized classes")
+    public void skipsIncompleteResults()
+    {
+        assertEquals(List.of(), SelfAggregating.EARLY);
+        
+        List<String> complete =
+            Aggregates.from(SelfAggregating.class).constantsOfType(String.class).cached(SelfAggregating.CACHE).toList();
+        
+        assertEquals(List.of("late"), complete);
+        assertEquals(2, SelfAggregating.CACHE.missCount());
+    }
+    
+    @Test
+    @DisplayName("never serves results loaded with another lookup's access")
+    public void separatesLookups()
+    {
+        AggregationCache cache = AggregationCache.create();
+        
+        List<String> privileged = Aggregates.from(Data.class, MethodHandles.lookup())
+            .constantsOfType(String.class)
+            .cached(cache)
+            .toList();
+        
+        assertEquals(List.of("first", "second"), privileged);
+        assertThrows(
+            AggregationException.class,
+            () -> Aggregates.from(Data.class, MethodHandles.publicLookup()).constantsOfType(String.class).cached(cache).toList()
+        );
+        assertEquals(List.of("first", "second"), strings(cache));
+        
+        assertEquals(0, cache.hitCount());
+        assertEquals(3, cache.missCount());
+    }
+    
+    @Test
+    @DisplayName("never keeps entries of failed loads")
+    public void discardsFailedLoads()
+    {
+        AggregationCache cache = AggregationCache.create();
+        
+        Aggregates.Pending.Aggregation<String> inaccessible = Aggregates.from(Data.class, MethodHandles.publicLookup())
+            .constantsOfType(String.class)
+            .cached(cache);
+        
+        assertThrows(AggregationException.class, inaccessible::toList);
+        assertEquals(0, cache.entryCount(Data.class));
+        
+        strings(cache);
+        assertEquals(1, cache.entryCount(Data.class));
+    }
+    
+    // Defines a copy of the anchor class in a new class loader, which nothing else references.
+    static Class<?> isolatedAnchor() throws IOException
+    {
+        byte[] bytes;
+        
+        String path = "/" + Anchor.class.getName().replace('.', '/') + ".class";
+        
+        try (InputStream in = Anchor.class.getResourceAsStream(path))
+        {
+            bytes = Objects.requireNonNull(in).readAllBytes();
+        }
+        
+        return new ClassLoader(Anchor.class.getClassLoader())
+        {
+            Class<?> define() { return defineClass(Anchor.class.getName(), bytes, 0, bytes.length); }
+        }
+        .define();
+    }
+    
+    // Separate from the test, so that no references to the isolated class loader remain on its stack.
+    static WeakReference<ClassLoader> aggregateWithIsolatedLookup(AggregationCache cache) throws IOException
+    {
+        Class<?> anchor = isolatedAnchor();
+        
+        List<String> names = Aggregates.from(PublicData.class, MethodHandles.publicLookup().in(anchor))
+            .constantsOfType(String.class)
+            .cached(cache)
+            .toList();
+        
+        assertEquals(List.of("public"), names);
+        return new WeakReference<>(anchor.getClassLoader());
+    }
+    
+    @Test
+    @DisplayName("never prevents lookup classes from unloading")
+    public void releasesLookupClasses() throws Exception
+    {
+        AggregationCache cache = AggregationCache.create();
+        WeakReference<ClassLoader> loader = aggregateWithIsolatedLookup(cache);
+        
+        for (int i = 0; i < 50 && loader.get() != null; i++)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+        
+        assertNull(loader.get());
+        assertEquals(1, cache.estimatedSize());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AggregationQuery")
+public class AggregationQueryTests
+{
+    @SuppressWarnings("unused")
+    public static class Data
+    {
+        static final String FIRST_NAME = "John";
+        
+        static final String LAST_NAME = "Doe";
+        
+        static final String MAGIC_WORD = "Soon";
+        
+        static final List<String> NICK_NAMES = List.of("Johnny", "JD");
+        
+        static final Integer LUCKY_NUMBER = 7;
+    }
+    
+    static final List<String> EXPECTED = List.of("John", "Doe", "Johnny", "JD");
+    
+    @Test
+    @DisplayName("is unaffected by later changes to its pending aggregation")
+    public void isImmutable()
+    {
+        Aggregates.Pending.Aggregation<String> pending =
+            Aggregates.from(Data.class).constantsOfType(String.class).matching(match -> match.all("NAME"));
+        
+        AggregationQuery<String> query = pending.compile();
+        pending.matching(match -> match.collections(true));
+        
+        assertEquals(List.of("John", "Doe"), query.toList());
+        assertEquals(EXPECTED, pending.toList());
+        assertEquals(Data.class, query.source());
+        assertEquals(MatchRules.of().all("NAME"), query.rules());
+    }
+    
+    @Test
+    @DisplayName("streams with exact characteristics")
+    public void streamsSized()
+    {
+        AggregationQuery<String> query = query().compile();
+        Spliterator<Constant<String>> constants = query.stream().spliterator();
+        
+        int characteristics = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED
+            | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        
+        assertEquals(characteristics, constants.characteristics() & characteristics);
+        assertEquals(EXPECTED.size(), constants.getExactSizeIfKnown());
+        
+        @NullOr Spliterator<Constant<String>> half = constants.trySplit();
+        assertNotNull(half);
+        assertEquals(EXPECTED.size(), half.getExactSizeIfKnown() + constants.getExactSizeIfKnown());
+        
+        assertEquals(EXPECTED, query.stream().parallel().map(Constant::value).collect(Collectors.toList()));
+        assertEquals(EXPECTED.size(), query.stream().count());
+    }
+    
+    @Test
+    @DisplayName("runs concurrently from many threads")
+    public void runsConcurrently() throws Exception
+    {
+        AggregationQuery<String> uncached = query().compile();
+        AggregationQuery<String> cached = query().cached(AggregationCache.create()).compile();
+        AggregationQuery<String> byName = Aggregates.from(Data.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.all("NAME"))
+            .cached(AggregationCache.create())
+            .compile();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        
+        try
+        {
+            for (int i = 0; i < 32; i++)
+            {
+                results.add(executor.submit(() ->
+                {
+                    start.await();
+                    
+                    for (int run = 0; run < 500; run++)
+                    {
+                        assertEquals(EXPECTED, uncached.toList());
+                        assertEquals(EXPECTED, cached.toList());
+                        assertSame(cached.values(), cached.values());
+                        
+                        Map<String, Constant<String>> names = byName.toMap();
+                        assertEquals("Doe", names.get("LAST_NAME").value());
+                        assertSame(names, byName.toMap());
+                    }
+                    
+                    return null;
+                }));
+            }
+            
+            start.countDown();
+            for (Future<?> result : results) { result.get(); }
+        }
+        finally { executor.shutdownNow(); }
+    }
+    
+    static Aggregates.Pending.Aggregation<String> query()
+    {
+        return Aggregates.from(Data.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.all("NAME").collections(true));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstantLookup")
+public class ConstantLookupTests
+{
+    @SuppressWarnings("unused")
+    public static class Codes
+    {
+        static final int NOT_FOUND = 404;
+        
+        static final Integer GONE = 410;
+        
+        private static final String SECRET = "hidden";
+        
+        static class Http
+        {
+            static final int TEAPOT = 418;
+        }
+    }
+    
+    static final ConstantLookup<Integer> CODES = ConstantLookup.of(
+        Aggregates.from(Codes.class).constantsOfType(Integer.class).matching(match -> match.nested(true)).compile()
+    );
+    
+    static final MethodHandle NOT_FOUND = CODES.handle("NOT_FOUND");
+    
+    @Test
+    @DisplayName("resolves constant handles by path")
+    public void resolvesHandles() throws Throwable
+    {
+        assertEquals(404, (int) (Integer) NOT_FOUND.invokeExact());
+        assertEquals(MethodType.methodType(Integer.class), NOT_FOUND.type());
+        assertEquals(418, (Integer) CODES.callSite("Http.TEAPOT").dynamicInvoker().invokeExact());
+        assertEquals(410, CODES.get("GONE"));
+        
+        assertThrows(IllegalArgumentException.class, () -> CODES.handle("TEAPOT"));
+    }
+    
+    @Test
+    @DisplayName("bootstraps call sites and dynamic constants")
+    public void bootstraps() throws Throwable
+    {
+        CallSite site = ConstantLookup.bootstrap(
+            MethodHandles.lookup(), "NOT_FOUND", MethodType.methodType(int.class), Codes.class
+        );
+        
+        assertEquals(404, (int) site.dynamicInvoker().invokeExact());
+        assertEquals("hidden", ConstantLookup.constant(MethodHandles.lookup(), "SECRET", String.class, Codes.class));
+        
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ConstantLookup.bootstrap(MethodHandles.lookup(), "MISSING", MethodType.methodType(int.class), Codes.class)
+        );
+        
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ConstantLookup.bootstrap(
+                MethodHandles.lookup(), "NOT_FOUND", MethodType.methodType(int.class, int.class), Codes.class
+            )
+        );
+    }
+    
+    @Test
+    @DisplayName("aggregates once per linked source, type, and caller")
+    public void cachesLinkages() throws Throwable
+    {
+        MethodType type = MethodType.methodType(int.class);
+        
+        ConstantLookup.bootstrap(MethodHandles.lookup(), "NOT_FOUND", type, Codes.class);
+        long hits = ConstantLookup.LINKAGES.hitCount();
+        
+        CallSite site = ConstantLookup.bootstrap(MethodHandles.lookup(), "GONE", type, Codes.class);
+        
+        assertEquals(410, (int) site.dynamicInvoker().invokeExact());
+        assertEquals(hits + 1, ConstantLookup.LINKAGES.hitCount());
+    }
+}
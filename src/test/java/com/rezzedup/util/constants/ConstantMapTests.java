@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstantMap")
+public class ConstantMapTests
+{
+    @SuppressWarnings("unused")
+    public static class Features
+    {
+        static final String SEARCH = "search";
+        
+        static final String EXPORT = "export";
+        
+        static final String BETA = "beta";
+    }
+    
+    static final AggregationQuery<String> FEATURES = Aggregates.from(Features.class)
+        .constantsOfType(String.class)
+        .cached(AggregationCache.create())
+        .compile();
+    
+    @Test
+    @DisplayName("maps constants to values in aggregation order")
+    public void mapsConstants()
+    {
+        Map<String, Constant<String>> byName = FEATURES.toMap();
+        ConstantMap<String, Boolean> enabled = ConstantMap.create(FEATURES);
+        
+        assertTrue(enabled.isEmpty());
+        
+        enabled.put(byName.get("BETA"), false);
+        enabled.put(byName.get("SEARCH"), true);
+        
+        assertEquals(2, enabled.size());
+        assertEquals(true, enabled.get(byName.get("SEARCH")));
+        assertNull(enabled.get(byName.get("EXPORT")));
+        assertNull(enabled.get("SEARCH"));
+        assertEquals(false, enabled.put(byName.get("BETA"), true));
+        assertEquals(2, enabled.size());
+        
+        assertEquals(
+            List.of("SEARCH", "BETA"),
+            enabled.keySet().stream().map(Constant::name).collect(Collectors.toList())
+        );
+        
+        assertEquals(new HashMap<>(enabled), enabled);
+        
+        assertEquals(true, enabled.remove(byName.get("SEARCH")));
+        assertFalse(enabled.containsKey(byName.get("SEARCH")));
+        assertEquals(1, enabled.size());
+        
+        enabled.clear();
+        assertTrue(enabled.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("writes entries through to the map")
+    public void writesThrough()
+    {
+        ConstantMap<String, Integer> counts = ConstantMap.create(FEATURES);
+        FEATURES.stream().forEach(feature -> counts.put(feature, 0));
+        
+        for (Map.Entry<String, Integer> entry : counts.entrySet().stream()
+            .collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue)).entrySet())
+        {
+            assertEquals(0, entry.getValue());
+        }
+        
+        counts.entrySet().forEach(entry -> entry.setValue(entry.getKey().value().length()));
+        assertEquals(6, counts.get(FEATURES.toMap().get("SEARCH")));
+        
+        counts.entrySet().removeIf(entry -> entry.getValue() > 4);
+        assertEquals(List.of(4), List.copyOf(counts.values()));
+    }
+    
+    @Test
+    @DisplayName("rejects constants from other aggregations and null values")
+    public void rejectsForeignConstants()
+    {
+        ConstantMap<String, String> map = ConstantMap.create(FEATURES);
+        Constant<String> other = Aggregates.from(ConstantSetTests.Permissions.class)
+            .constantsOfType(String.class)
+            .toMap()
+            .get("READ");
+        
+        assertThrows(IllegalArgumentException.class, () -> map.put(other, "value"));
+        assertThrows(NullPointerException.class, () -> map.put(FEATURES.toMap().get("BETA"), null));
+    }
+}
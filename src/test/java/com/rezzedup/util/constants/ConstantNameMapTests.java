@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstantNameMap")
+public class ConstantNameMapTests
+{
+    static List<Constant<Integer>> constants(List<String> names)
+    {
+        List<Constant<Integer>> constants = new ArrayList<>();
+        
+        for (int i = 0; i < names.size(); i++)
+        {
+            constants.add(new Constants.Impl<>(ConstantNameMapTests.class, names.get(i), i, false, i));
+        }
+        
+        return constants;
+    }
+    
+    @Test
+    @DisplayName("looks up every name within a large catalog")
+    public void looksUpLargeCatalog()
+    {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) { names.add("ERROR_CODE_" + i); }
+        
+        Map<String, Constant<Integer>> map = ConstantNameMap.of(constants(names).iterator());
+        
+        assertEquals(20_000, map.size());
+        for (int i = 0; i < names.size(); i++) { assertEquals(i, map.get(names.get(i)).value()); }
+        
+        assertEquals(names, List.copyOf(map.keySet()));
+        assertNull(map.get("ERROR_CODE_20000"));
+        assertNull(map.get("MISSING"));
+        assertNull(map.get(7));
+    }
+    
+    @Test
+    @DisplayName("separates names sharing the same hash code")
+    public void separatesHashCollisions()
+    {
+        // "Aa" and "BB" share a hash code, so every combination of them does as well.
+        List<String> names = new ArrayList<>();
+        
+        for (int i = 0; i < 64; i++)
+        {
+            StringBuilder name = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) { name.append(((i >>> bit) & 1) == 0 ? "Aa" : "BB"); }
+            names.add(name.toString());
+        }
+        
+        assertEquals(1, names.stream().mapToInt(String::hashCode).distinct().count());
+        
+        Map<String, Constant<Integer>> map = ConstantNameMap.of(constants(names).iterator());
+        for (int i = 0; i < names.size(); i++) { assertEquals(i, map.get(names.get(i)).value()); }
+        assertNull(map.get("AaAaAaAaAaAa".replace('a', 'b')));
+    }
+    
+    @Test
+    @DisplayName("handles empty and tiny catalogs")
+    public void handlesSmallCatalogs()
+    {
+        assertNull(ConstantNameMap.of(constants(List.of()).iterator()).get("ANY"));
+        assertEquals(0, ConstantNameMap.of(constants(List.of("ONLY")).iterator()).get("ONLY").value());
+        assertThrows(
+            IllegalStateException.class,
+            () -> ConstantNameMap.of(constants(List.of("SAME", "OTHER", "SAME")).iterator())
+        );
+    }
+}
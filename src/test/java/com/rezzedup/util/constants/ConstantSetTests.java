@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstantSet")
+public class ConstantSetTests
+{
+    @SuppressWarnings("unused")
+    public static class Permissions
+    {
+        static final String READ = "read";
+        
+        static final String WRITE = "write";
+        
+        static final String DELETE = "delete";
+        
+        static final String ADMIN = "admin";
+        
+        static final List<String> EXTRA = IntStream.range(0, 100).mapToObj(i -> "extra." + i).collect(Collectors.toList());
+    }
+    
+    static final AggregationQuery<String> PERMISSIONS = Aggregates.from(Permissions.class)
+        .constantsOfType(String.class)
+        .matching(match -> match.collections(true))
+        .compile();
+    
+    static Set<String> names(Set<Constant<String>> constants)
+    {
+        return constants.stream().map(Constant::name).collect(Collectors.toSet());
+    }
+    
+    @Test
+    @DisplayName("assigns ordinals in aggregation order")
+    public void assignsOrdinals()
+    {
+        List<Constant<String>> constants = PERMISSIONS.stream().collect(Collectors.toList());
+        
+        assertEquals(104, constants.size());
+        for (int i = 0; i < constants.size(); i++) { assertEquals(i, constants.get(i).ordinal()); }
+        
+        assertEquals(-1, Constants.in(Permissions.class).streamAllConstants().findFirst().orElseThrow().ordinal());
+    }
+    
+    @Test
+    @DisplayName("contains every constant when created with all of them")
+    public void containsAll()
+    {
+        ConstantSet<String> all = ConstantSet.allOf(PERMISSIONS);
+        
+        assertEquals(104, all.size());
+        assertEquals(PERMISSIONS.toList(), all.stream().map(Constant::value).collect(Collectors.toList()));
+        assertTrue(PERMISSIONS.stream().allMatch(all::contains));
+        assertEquals(all, PERMISSIONS.toConstantSet());
+        assertTrue(ConstantSet.noneOf(PERMISSIONS).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("recognizes equivalent constants from another aggregation")
+    public void containsEquivalent()
+    {
+        ConstantSet<String> all = ConstantSet.allOf(PERMISSIONS);
+        Map<String, Constant<String>> byName = Aggregates.from(Permissions.class).constantsOfType(String.class).toMap();
+        
+        assertTrue(all.contains(byName.get("ADMIN")));
+        assertFalse(all.contains("admin"));
+        
+        // Same name and value, but a different ordinal.
+        Constant<String> admin = Aggregates.from(Permissions.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.all("ADMIN"))
+            .toMap()
+            .get("ADMIN");
+        
+        assertEquals(0, admin.ordinal());
+        assertFalse(all.contains(admin));
+        assertThrows(IllegalArgumentException.class, () -> ConstantSet.noneOf(PERMISSIONS).add(admin));
+    }
+    
+    @Test
+    @DisplayName("equals sets of equal constants symmetrically, with equal hash codes")
+    public void equalsSymmetrically()
+    {
+        AggregationQuery<String> separate = Aggregates.from(Permissions.class)
+            .constantsOfType(String.class)
+            .matching(match -> match.collections(true))
+            .compile();
+        
+        ConstantSet<String> all = ConstantSet.allOf(PERMISSIONS);
+        ConstantSet<String> other = ConstantSet.allOf(separate);
+        Set<Constant<String>> hashed = new HashSet<>(separate.stream().collect(Collectors.toList()));
+        
+        assertEquals(all, other);
+        assertEquals(other, all);
+        assertEquals(all.hashCode(), other.hashCode());
+        
+        assertEquals(all, hashed);
+        assertEquals(hashed, all);
+        assertEquals(hashed.hashCode(), all.hashCode());
+        
+        hashed.removeIf(constant -> constant.name().equals("ADMIN"));
+        
+        assertNotEquals(all, hashed);
+        assertNotEquals(hashed, all);
+    }
+    
+    @Test
+    @DisplayName("computes unions, intersections, and complements")
+    public void combines()
+    {
+        Map<String, Constant<String>> byName = Aggregates.from(Permissions.class).constantsOfType(String.class).toMap();
+        
+        ConstantSet<String> readOnly = ConstantSet.noneOf(PERMISSIONS);
+        readOnly.add(byName.get("READ"));
+        
+        ConstantSet<String> editor = ConstantSet.noneOf(PERMISSIONS);
+        editor.add(byName.get("READ"));
+        editor.add(byName.get("WRITE"));
+        editor.add(byName.get("DELETE"));
+        
+        assertEquals(Set.of("READ", "WRITE", "DELETE"), names(readOnly.union(editor)));
+        assertEquals(Set.of("READ"), names(readOnly.intersection(editor)));
+        assertTrue(editor.containsAll(readOnly));
+        assertFalse(readOnly.containsAll(editor));
+        
+        ConstantSet<String> complement = editor.complement();
+        assertEquals(101, complement.size());
+        assertFalse(complement.contains(byName.get("WRITE")));
+        assertTrue(complement.contains(byName.get("ADMIN")));
+        assertEquals(ConstantSet.allOf(PERMISSIONS), complement.union(editor));
+        
+        complement.removeAll(ConstantSet.allOf(PERMISSIONS));
+        assertTrue(complement.isEmpty());
+        
+        // Equal to other kinds of sets containing the same constants.
+        assertEquals(new HashSet<>(editor), editor);
+        assertEquals(editor, new HashSet<>(editor));
+    }
+    
+    @Test
+    @DisplayName("removes constants while iterating")
+    public void removesWhileIterating()
+    {
+        ConstantSet<String> all = ConstantSet.allOf(PERMISSIONS);
+        
+        for (Iterator<Constant<String>> iterator = all.iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next().isFromCollection()) { iterator.remove(); }
+        }
+        
+        assertEquals(Set.of("READ", "WRITE", "DELETE", "ADMIN"), names(all));
+    }
+}
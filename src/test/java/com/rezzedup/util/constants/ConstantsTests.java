@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Constants")
+public class ConstantsTests
+{
+    @SuppressWarnings("unused")
+    public static class Fields
+    {
+        public static final String PUBLIC_CONSTANT = "public";
+        
+        private static final String PRIVATE_CONSTANT = "private";
+        
+        public static String notFinal = "mutable";
+        
+        public final String notStatic = "instance";
+    }
+    
+    @Test
+    @DisplayName("only streams static final fields")
+    public void streamsOnlyConstants()
+    {
+        List<String> all = Constants.in(Fields.class).streamAllFields().map(Field::getName).collect(Collectors.toList());
+        assertEquals(List.of("PUBLIC_CONSTANT", "PRIVATE_CONSTANT"), all);
+        
+        List<String> publics = Constants.in(Fields.class).streamPublicFields().map(Field::getName).collect(Collectors.toList());
+        assertEquals(List.of("PUBLIC_CONSTANT"), publics);
+    }
+    
+    @Test
+    @DisplayName("streams new copies of fields")
+    public void streamsCopies()
+    {
+        Field first = Constants.in(Fields.class).streamAllFields().skip(1).findFirst().orElseThrow();
+        first.setAccessible(true);
+        
+        Field second = Constants.in(Fields.class).streamAllFields().skip(1).findFirst().orElseThrow();
+        
+        assertNotSame(first, second);
+        assertThrows(IllegalAccessException.class, () -> MethodHandles.publicLookup().unreflectGetter(second));
+    }
+    
+    @Test
+    @DisplayName("streams constants from overridden fields")
+    public void streamsOverriddenFields()
+    {
+        Constants.ConstantStream publicOnly = new Constants.ConstantStream()
+        {
+            @Override
+            public Class<?> source() { return Fields.class; }
+            
+            @Override
+            public Stream<Field> streamAllFields()
+            {
+                return Constants.ConstantStream.super.streamAllFields()
+                    .filter(field -> Modifier.isPublic(field.getModifiers()));
+            }
+        };
+        
+        List<Object> values = publicOnly.streamAllConstants().map(Constant::value).collect(Collectors.toList());
+        assertEquals(List.of("public"), values);
+    }
+    
+    @Test
+    @DisplayName("caches constant field descriptors per class")
+    public void cachesDescriptors()
+    {
+        List<ConstantField> first = ConstantField.declaredIn(Fields.class);
+        List<ConstantField> second = ConstantField.declaredIn(Fields.class);
+        
+        assertSame(first, second);
+        assertEquals(String.class, first.get(0).type());
+        assertTrue(first.get(0).isAggregated());
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.types.TypeCapture;
+import com.rezzedup.util.constants.types.Wildcards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LazyConstant")
+public class LazyConstantTests
+{
+    static final AtomicInteger RESOLUTIONS = new AtomicInteger();
+    
+    @SuppressWarnings("unused")
+    public static class LazyData
+    {
+        static final LazyConstant<Pattern> DIGITS = LazyConstant.of(() ->
+        {
+            RESOLUTIONS.incrementAndGet();
+            return Pattern.compile("[0-9]+");
+        });
+        
+        static final Supplier<String> GREETING = LazyConstant.of(() -> "hello");
+        
+        static final String NAME = "lazy";
+        
+        static final LazyConstant<Integer> ANSWER = LazyConstant.of(() -> 42);
+    }
+    
+    @SuppressWarnings("unused")
+    public static class LazyHolder
+    {
+        static final String EAGER = "eager";
+        
+        static final LazyConstant<Integer> LAZY = LazyConstant.of(() -> 7);
+    }
+    
+    @SuppressWarnings("unused")
+    public static class PrimitiveData
+    {
+        static final int PLAIN = 1;
+        
+        static final LazyConstant<Integer> LAZY = LazyConstant.of(() -> 2);
+    }
+    
+    @SuppressWarnings("unused")
+    public static class GenericData
+    {
+        static final LazyConstant<List<Integer>> NUMBERS = LazyConstant.of(() -> List.of(1, 2));
+        
+        static final LazyConstant<List<String>> WORDS = LazyConstant.of(() -> List.of("a", "b"));
+    }
+    
+    @Test
+    @DisplayName("resolves at most once")
+    public void resolvesOnce() throws Exception
+    {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        LazyConstant<String> lazy = LazyConstant.of(() -> "call " + calls.incrementAndGet());
+        
+        assertFalse(lazy.isResolved());
+        
+        List<CompletableFuture<String>> pending = new ArrayList<>();
+        
+        for (int i = 0; i < 8; i++)
+        {
+            pending.add(CompletableFuture.supplyAsync(() ->
+            {
+                try { start.await(); }
+                catch (InterruptedException e) { throw new IllegalStateException(e); }
+                return lazy.get();
+            }));
+        }
+        
+        start.countDown();
+        
+        for (CompletableFuture<String> future : pending) { assertEquals("call 1", future.get()); }
+        
+        assertTrue(lazy.isResolved());
+        assertEquals(1, calls.get());
+    }
+    
+    @Test
+    @DisplayName("retries after failures and rejects null")
+    public void retriesFailures()
+    {
+        AtomicInteger calls = new AtomicInteger();
+        
+        LazyConstant<String> flaky = LazyConstant.of(() ->
+        {
+            if (calls.incrementAndGet() == 1) { throw new IllegalStateException("Not yet"); }
+            return "ready";
+        });
+        
+        assertThrows(IllegalStateException.class, flaky::get);
+        assertFalse(flaky.isResolved());
+        assertEquals("ready", flaky.get());
+        
+        assertThrows(NullPointerException.class, () -> LazyConstant.of(() -> null).get());
+    }
+    
+    @Test
+    @DisplayName("fails fast on recursive resolution")
+    public void rejectsRecursion()
+    {
+        AtomicInteger calls = new AtomicInteger();
+        List<LazyConstant<String>> self = new ArrayList<>();
+        
+        self.add(LazyConstant.of(() -> (calls.incrementAndGet() == 1) ? self.get(0).get() : "resolved"));
+        
+        assertThrows(IllegalStateException.class, self.get(0)::get);
+        assertEquals(1, calls.get());
+        assertFalse(self.get(0).isResolved());
+        assertEquals("resolved", self.get(0).get());
+    }
+    
+    @Test
+    @DisplayName("aggregates by declared type without resolving")
+    public void aggregatesUnresolved()
+    {
+        List<Constant<Pattern>> patterns = Aggregates.from(LazyData.class).constantsOfType(Pattern.class).stream()
+            .collect(Collectors.toList());
+        
+        assertEquals(1, patterns.size());
+        assertEquals("DIGITS", patterns.get(0).name());
+        assertEquals(0, RESOLUTIONS.get());
+        
+        assertEquals("[0-9]+", patterns.get(0).value().pattern());
+        assertSame(patterns.get(0).value(), LazyData.DIGITS.get());
+        assertEquals(1, RESOLUTIONS.get());
+    }
+    
+    @Test
+    @DisplayName("resolves values on access")
+    public void resolvesValues()
+    {
+        assertEquals(List.of("hello", "lazy"), Aggregates.from(LazyData.class).constantsOfType(String.class).values());
+        
+        assertEquals(
+            List.of(42),
+            Aggregates.from(LazyData.class).constantsOfType(Integer.class).cached(AggregationCache.create()).toList()
+        );
+        
+        List<Integer> visited = new ArrayList<>();
+        
+        Aggregates.from(LazyData.class)
+            .constantsOfType(Number.class)
+            .forEach((source, name, value, isFromCollection) -> visited.add(value.intValue()));
+        
+        assertEquals(List.of(42), visited);
+        
+        // Lazy constants that don't match by their declared type are aggregated as they are.
+        List<LazyConstant> lazies = Aggregates.from(LazyData.class)
+            .constantsOfType(LazyConstant.class)
+            .matching(match -> match.all("ANSWER"))
+            .toList();
+        
+        assertEquals(List.of(LazyData.ANSWER), lazies);
+        
+        // Types that lazy constants are instances of yield the lazy constants rather than their values.
+        assertEquals(
+            List.of(LazyHolder.EAGER, LazyHolder.LAZY),
+            Aggregates.from(LazyHolder.class).constantsOfType(Object.class).toList()
+        );
+        
+        assertEquals(
+            List.of(LazyData.GREETING),
+            Aggregates.from(LazyData.class)
+                .constantsOfType(Supplier.class)
+                .matching(match -> match.all("GREETING"))
+                .toList()
+        );
+    }
+    
+    @Test
+    @DisplayName("stays unresolved within cached views until accessed")
+    public void cachedViewsStayLazy()
+    {
+        AggregationCache cache = AggregationCache.create();
+        List<Serializable> values = Aggregates.from(LazyHolder.class)
+            .constantsOfType(Serializable.class)
+            .cached(cache)
+            .values();
+        
+        assertEquals(2, values.size());
+        assertFalse(LazyHolder.LAZY.isResolved());
+        
+        assertEquals("eager", values.get(0));
+        assertFalse(LazyHolder.LAZY.isResolved());
+        
+        assertEquals(7, values.get(1));
+        assertTrue(LazyHolder.LAZY.isResolved());
+        assertSame(
+            values,
+            Aggregates.from(LazyHolder.class).constantsOfType(Serializable.class).cached(cache).values()
+        );
+    }
+    
+    @Test
+    @DisplayName("matches declared type parameters exactly")
+    public void matchesTypeParameters()
+    {
+        List<List<Integer>> numbers = Aggregates.from(GenericData.class)
+            .constantsOfType(new TypeCapture<List<Integer>>() {})
+            .toList();
+        
+        assertEquals(List.of(List.of(1, 2)), numbers);
+        assertEquals(2, Aggregates.from(GenericData.class).constantsOfType(Wildcards.LIST).toList().size());
+    }
+    
+    @Test
+    @DisplayName("is excluded from primitive aggregations")
+    public void excludedFromPrimitives()
+    {
+        assertArrayEquals(new int[] {1}, Aggregates.from(PrimitiveData.class).constantsOfInt().toIntArray());
+        assertFalse(PrimitiveData.LAZY.isResolved());
+    }
+}
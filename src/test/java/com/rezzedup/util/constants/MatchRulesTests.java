@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MatchRules")
+public class MatchRulesTests
+{
+    static boolean naive(Set<String> all, Set<String> any, Set<String> not, String name)
+    {
+        return all.stream().allMatch(name::contains)
+            && (any.isEmpty() || any.stream().anyMatch(name::contains))
+            && not.stream().noneMatch(name::contains);
+    }
+    
+    @Test
+    @DisplayName("matches all, any, and not criteria")
+    public void matchesCriteria()
+    {
+        MatchRules rules = MatchRules.of().all("NAME").any("FIRST", "LAST").not("FAKE");
+        
+        assertTrue(rules.matches("FIRST_NAME"));
+        assertTrue(rules.matches("LAST_NAME"));
+        assertFalse(rules.matches("NAME"));
+        assertFalse(rules.matches("FIRST_FAKE_NAME"));
+        assertFalse(rules.matches("FIRST"));
+    }
+    
+    @Test
+    @DisplayName("matches overlapping and empty strings")
+    public void matchesEdgeCases()
+    {
+        assertTrue(MatchRules.of().all("ABAB", "BABA").matches("ABABA"));
+        assertTrue(MatchRules.of().all("").matches(""));
+        assertTrue(MatchRules.of().any("").matches("ANYTHING"));
+        assertFalse(MatchRules.of().not("").matches("ANYTHING"));
+        assertFalse(MatchRules.of().all("A").matches(""));
+        assertTrue(MatchRules.of().not("Ä").matches("AE"));
+        assertFalse(MatchRules.of().not("Ä").matches("AÄ"));
+    }
+    
+    @Test
+    @DisplayName("is equivalent to checking each string individually")
+    public void equivalentToNaive()
+    {
+        Random random = new Random(42);
+        List<String> pieces = List.of("A", "B", "AB", "BA", "ABA", "C", "CA", "_", "A_B");
+        
+        for (int rule = 0; rule < 200; rule++)
+        {
+            String[] all = randomPieces(random, pieces, random.nextInt(3));
+            String[] any = randomPieces(random, pieces, random.nextInt(4));
+            String[] not = randomPieces(random, pieces, random.nextInt(3));
+            
+            MatchRules rules = MatchRules.of().all(all).any(any).not(not);
+            
+            for (int name = 0; name < 50; name++)
+            {
+                String candidate = String.join("", randomPieces(random, pieces, random.nextInt(6)));
+                boolean expected = naive(Set.of(all), Set.of(any), Set.of(not), candidate);
+                assertEquals(expected, rules.matches(candidate), () -> rules + " -> " + candidate);
+            }
+        }
+    }
+    
+    private static String[] randomPieces(Random random, List<String> pieces, int amount)
+    {
+        return random.ints(amount, 0, pieces.size()).mapToObj(pieces::get).distinct().toArray(String[]::new);
+    }
+}
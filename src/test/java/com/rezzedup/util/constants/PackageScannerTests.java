@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants;
+
+import com.rezzedup.util.constants.exceptions.MultiSourceAggregationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PackageScanner")
+public class PackageScannerTests
+{
+    static final Map<String, String> SOURCES = Map.of(
+        "codes/HttpCodes.java",
+        "package codes;\n" +
+        "public class HttpCodes {\n" +
+        "    public static final int OK = 200;\n" +
+        "    public static final Integer NOT_FOUND = 404;\n" +
+        "}\n",
+        "codes/Greetings.java",
+        "package codes;\n" +
+        "public class Greetings {\n" +
+        "    public static final String GREETING = \"Hi\";\n" +
+        "}\n",
+        "codes/Empty.java",
+        "package codes;\n" +
+        "public class Empty {\n" +
+        "    public static String notConstant = \"mutable\";\n" +
+        "}\n",
+        "codes/nested/NestedCodes.java",
+        "package codes.nested;\n" +
+        "public class NestedCodes {\n" +
+        "    public static final Integer NESTED = 1;\n" +
+        "}\n"
+    );
+    
+    static class RecordingClassLoader extends URLClassLoader
+    {
+        final List<String> loaded = new ArrayList<>();
+        
+        RecordingClassLoader(Path location) throws IOException
+        {
+            super(new URL[] { location.toUri().toURL() }, PackageScannerTests.class.getClassLoader());
+        }
+        
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException
+        {
+            if (name.startsWith("codes.")) { loaded.add(name); }
+            return super.loadClass(name);
+        }
+    }
+    
+    static Path compile(Path directory, Map<String, String> sources) throws IOException, URISyntaxException
+    {
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        Path library = Path.of(Aggregates.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(), "-classpath", library.toString()));
+        
+        for (Map.Entry<String, String> source : sources.entrySet())
+        {
+            Path file = directory.resolve("sources").resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+            arguments.add(file.toString());
+        }
+        
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(String[]::new)), "compilation failed");
+        
+        return classes;
+    }
+    
+    static Path jar(Path classes, Path jar) throws IOException
+    {
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar));
+            Stream<Path> files = Files.walk(classes))
+        {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator)
+            {
+                if (file.equals(classes)) { continue; }
+                
+                String name = classes.relativize(file).toString().replace('\\', '/');
+                
+                if (Files.isDirectory(file))
+                {
+                    output.putNextEntry(new JarEntry(name + "/"));
+                }
+                else
+                {
+                    output.putNextEntry(new JarEntry(name));
+                    Files.copy(file, (OutputStream) output);
+                }
+                
+                output.closeEntry();
+            }
+        }
+        
+        return jar;
+    }
+    
+    @Test
+    @DisplayName("aggregates from classes within a directory")
+    public void scansDirectory(@TempDir Path directory) throws Exception
+    {
+        RecordingClassLoader loader = new RecordingClassLoader(compile(directory, SOURCES));
+        
+        List<Integer> codes = Aggregates.fromPackage("codes", loader).constantsOfType(Integer.class).toList();
+        
+        assertEquals(List.of(200, 404), codes);
+        assertFalse(loader.loaded.contains("codes.Empty"));
+        assertFalse(loader.loaded.contains("codes.nested.NestedCodes"));
+    }
+    
+    @Test
+    @DisplayName("only loads classes with matching constant names")
+    public void loadsOnlyMatchingClasses(@TempDir Path directory) throws Exception
+    {
+        RecordingClassLoader loader = new RecordingClassLoader(compile(directory, SOURCES));
+        
+        List<String> greetings = Aggregates.fromPackage("codes", loader)
+            .constantsOfType(String.class)
+            .matching(match -> match.all("GREETING"))
+            .toList();
+        
+        assertEquals(List.of("Hi"), greetings);
+        assertTrue(loader.loaded.contains("codes.Greetings"));
+        assertFalse(loader.loaded.contains("codes.HttpCodes"));
+        assertFalse(loader.loaded.contains("codes.Empty"));
+    }
+    
+    @Test
+    @DisplayName("aggregates from classes within a jar and refreshes the index when it changes")
+    public void scansJar(@TempDir Path directory) throws Exception
+    {
+        Path jar = jar(compile(directory.resolve("first"), SOURCES), directory.resolve("codes.jar"));
+        
+        try (URLClassLoader loader = new RecordingClassLoader(jar))
+        {
+            assertEquals(List.of(200, 404), Aggregates.fromPackage("codes", loader).constantsOfType(Integer.class).toList());
+        }
+        
+        // Touched without changes: the cached index is still valid.
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 10_000));
+        
+        try (URLClassLoader loader = new RecordingClassLoader(jar))
+        {
+            assertEquals(List.of(200, 404), Aggregates.fromPackage("codes", loader).constantsOfType(Integer.class).toList());
+        }
+        
+        Map<String, String> changed = Map.of(
+            "codes/HttpCodes.java",
+            "package codes;\n" +
+            "public class HttpCodes {\n" +
+            "    public static final int CREATED = 201;\n" +
+            "}\n",
+            "codes/MoreCodes.java",
+            "package codes;\n" +
+            "public class MoreCodes {\n" +
+            "    public static final int TEAPOT = 418;\n" +
+            "}\n"
+        );
+        
+        jar(compile(directory.resolve("second"), changed), jar);
+        
+        try (URLClassLoader loader = new RecordingClassLoader(jar))
+        {
+            assertEquals(List.of(201, 418), Aggregates.fromPackage("codes", loader).constantsOfType(Integer.class).toList());
+        }
+    }
+    
+    @Test
+    @DisplayName("reports classes that fail to load and skips package descriptors")
+    public void reportsLoadFailures(@TempDir Path directory) throws Exception
+    {
+        Map<String, String> sources = Map.of(
+            "codes/package-info.java",
+            "@Deprecated\n" +
+            "package codes;\n",
+            "codes/Base.java",
+            "package codes;\n" +
+            "public class Base {}\n",
+            "codes/Broken.java",
+            "package codes;\n" +
+            "public class Broken extends Base {\n" +
+            "    public static final Integer BROKEN = 500;\n" +
+            "}\n",
+            "codes/HttpCodes.java",
+            "package codes;\n" +
+            "public class HttpCodes {\n" +
+            "    public static final Integer OK = 200;\n" +
+            "}\n"
+        );
+        
+        Path classes = compile(directory, sources);
+        Files.delete(classes.resolve("codes/Base.class"));
+        
+        RecordingClassLoader loader = new RecordingClassLoader(classes);
+        
+        MultiSourceAggregationException exception = assertThrows(
+            MultiSourceAggregationException.class,
+            () -> Aggregates.fromPackage("codes", loader)
+                .constantsOfType(Integer.class)
+                .matching(match -> match.inherited(true))
+                .toList()
+        );
+        
+        assertEquals(List.of("codes.Broken"), List.copyOf(exception.loadFailures().keySet()));
+        assertTrue(exception.failures().isEmpty());
+        assertTrue(loader.loaded.contains("codes.HttpCodes"));
+        assertFalse(loader.loaded.contains("codes.package-info"));
+    }
+    
+    @Test
+    @DisplayName("aggregates from within the static initializer of a scanned class")
+    public void scansWhileInitializing(@TempDir Path directory) throws Exception
+    {
+        Map<String, String> sources = Map.of(
+            "registry/Codes.java",
+            "package registry;\n" +
+            "public class Codes {\n" +
+            "    public static final Integer OK = 200;\n" +
+            "}\n",
+            "registry/Registry.java",
+            "package registry;\n" +
+            "public class Registry {\n" +
+            "    public static final Integer REGISTERED = 1;\n" +
+            "    public static final java.util.List<Integer> CODES =\n" +
+            "        com.rezzedup.util.constants.Aggregates.fromPackage(\"registry\")\n" +
+            "            .constantsOfType(Integer.class)\n" +
+            "            .toList();\n" +
+            "}\n"
+        );
+        
+        RecordingClassLoader loader = new RecordingClassLoader(compile(directory, sources));
+        
+        Object codes = assertTimeoutPreemptively(
+            Duration.ofSeconds(10),
+            () -> Class.forName("registry.Registry", true, loader).getField("CODES").get(null)
+        );
+        
+        assertEquals(List.of(200, 1), codes);
+    }
+}
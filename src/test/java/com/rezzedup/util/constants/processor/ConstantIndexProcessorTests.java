@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.processor;
+
+import com.rezzedup.util.constants.Aggregates;
+import com.rezzedup.util.constants.ConstantIndex;
+import com.rezzedup.util.constants.exceptions.AggregationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConstantIndexProcessor")
+public class ConstantIndexProcessorTests
+{
+    static final String HOLDER =
+        "package example;\n" +
+        "import com.rezzedup.util.constants.Aggregates;\n" +
+        "import com.rezzedup.util.constants.annotations.*;\n" +
+        "import java.util.List;\n" +
+        "public class Holder {\n" +
+        "    public static final String FIRST = \"first\";\n" +
+        "    static final String SECOND = new String(\"second\");\n" +
+        "    @NotAggregated static final String SKIPPED = \"skipped\";\n" +
+        "    static final int NUMBER = 1;\n" +
+        "    @AggregatedResult\n" +
+        "    public static final List<String> VALUES =\n" +
+        "        Aggregates.fromThisClass().constantsOfType(String.class).toList();\n" +
+        "}\n";
+    
+    static final String PRIVATE_HOLDER =
+        "package example;\n" +
+        "import com.rezzedup.util.constants.annotations.*;\n" +
+        "public class PrivateHolder {\n" +
+        "    private static final String HIDDEN = \"hidden\";\n" +
+        "    @AggregatedResult public static final Object RESULT = null;\n" +
+        "}\n";
+    
+    static final String PRIVATE_TYPE_HOLDER =
+        "package example;\n" +
+        "import com.rezzedup.util.constants.annotations.*;\n" +
+        "public class PrivateTypeHolder {\n" +
+        "    private static class Secret {}\n" +
+        "    static final Secret HIDDEN = new Secret();\n" +
+        "    static final Secret[] HIDDEN_ARRAY = {};\n" +
+        "    @AggregatedResult public static final Object RESULT = null;\n" +
+        "}\n";
+    
+    // Classes shadowing those of java.lang, which generated indexes must never refer to.
+    static final List<String> SHADOWED =
+        List.of("String", "Class", "Object", "Override", "IndexOutOfBoundsException", "IllegalArgumentException");
+    
+    static final String SHADOWED_HOLDER =
+        "package shadowed;\n" +
+        "import com.rezzedup.util.constants.annotations.*;\n" +
+        "public class Holder {\n" +
+        "    static final java.lang.String NAME = \"name\";\n" +
+        "    static final int NUMBER = 1;\n" +
+        "    @AggregatedResult static final java.lang.Object RESULT = null;\n" +
+        "}\n";
+    
+    static ClassLoader compile(Path directory) throws IOException
+    {
+        Path sources = Files.createDirectories(directory.resolve("example"));
+        Files.writeString(sources.resolve("Holder.java"), HOLDER);
+        Files.writeString(sources.resolve("PrivateHolder.java"), PRIVATE_HOLDER);
+        Files.writeString(sources.resolve("PrivateTypeHolder.java"), PRIVATE_TYPE_HOLDER);
+        
+        Path shadowed = Files.createDirectories(directory.resolve("shadowed"));
+        List<Path> units = new ArrayList<>(List.of(
+            sources.resolve("Holder.java"),
+            sources.resolve("PrivateHolder.java"),
+            sources.resolve("PrivateTypeHolder.java"),
+            shadowed.resolve("Holder.java")
+        ));
+        
+        Files.writeString(shadowed.resolve("Holder.java"), SHADOWED_HOLDER);
+        
+        for (String name : SHADOWED)
+        {
+            Path unit = shadowed.resolve(name + ".java");
+            Files.writeString(unit, "package shadowed;\npublic @interface " + name + " {}\n");
+            units.add(unit);
+        }
+        
+        Path library = Path.of(ConstantIndex.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null))
+        {
+            Iterable<? extends JavaFileObject> objects = files.getJavaFileObjectsFromPaths(units);
+            
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null, files, null, List.of("-d", directory.toString(), "-classpath", library.toString()), null, objects
+            );
+            
+            task.setProcessors(List.of(new ConstantIndexProcessor()));
+            assertTrue(task.call(), "compilation failed");
+        }
+        
+        return new URLClassLoader(new URL[] { directory.toUri().toURL() }, ConstantIndexProcessorTests.class.getClassLoader());
+    }
+    
+    @Test
+    @DisplayName("generates indexes of aggregated constants")
+    public void generatesIndex(@TempDir Path directory) throws Exception
+    {
+        ClassLoader loader = compile(directory);
+        Class<?> holder = Class.forName("example.Holder", true, loader);
+        Class<?> indexClass = Class.forName("example.Holder" + ConstantIndex.CLASS_NAME_SUFFIX, true, loader);
+        
+        assertFalse(Modifier.isPublic(indexClass.getModifiers()), "index must not be public");
+        assertEquals(0, indexClass.getConstructors().length, "index must not have public constructors");
+        
+        Constructor<?> constructor = indexClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        
+        ConstantIndex index = (ConstantIndex) constructor.newInstance();
+        
+        assertSame(holder, index.source());
+        assertEquals(List.of("FIRST", "SECOND", "NUMBER"), index.names());
+        assertEquals(List.of(String.class, String.class, int.class), index.types());
+        assertEquals("second", index.value(1));
+        assertEquals(1, index.value(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.value(3));
+        
+        assertEquals(1, index.intValue(2));
+        assertThrows(IllegalArgumentException.class, () -> index.intValue(0));
+        assertThrows(IllegalArgumentException.class, () -> index.longValue(2));
+        assertThrows(IllegalArgumentException.class, () -> index.doubleValue(3));
+        
+        assertArrayEquals(new int[] {1}, Aggregates.from(holder).constantsOfInt().toIntArray());
+        
+        assertEquals(List.of("first", "second"), holder.getField("VALUES").get(null));
+        assertEquals(List.of("first", "second"), Aggregates.from(holder).constantsOfType(String.class).toList());
+    }
+    
+    @Test
+    @DisplayName("never grants more access than the provided lookup")
+    public void respectsLookups(@TempDir Path directory) throws Exception
+    {
+        ClassLoader loader = compile(directory);
+        Class<?> holder = Class.forName("example.Holder", true, loader);
+        
+        assertThrows(
+            AggregationException.class,
+            () -> Aggregates.from(holder, MethodHandles.publicLookup()).constantsOfType(String.class).toList()
+        );
+        
+        assertEquals(
+            List.of("first"),
+            Aggregates.from(holder, MethodHandles.publicLookup())
+                .constantsOfType(String.class)
+                .matching(match -> match.all("FIRST"))
+                .toList()
+        );
+    }
+    
+    @Test
+    @DisplayName("skips classes with private constants")
+    public void skipsPrivateConstants(@TempDir Path directory) throws Exception
+    {
+        ClassLoader loader = compile(directory);
+        
+        assertThrows(
+            ClassNotFoundException.class,
+            () -> Class.forName("example.PrivateHolder" + ConstantIndex.CLASS_NAME_SUFFIX, false, loader)
+        );
+    }
+    
+    @Test
+    @DisplayName("skips classes with constants of inaccessible types")
+    public void skipsInaccessibleTypes(@TempDir Path directory) throws Exception
+    {
+        ClassLoader loader = compile(directory);
+        
+        assertThrows(
+            ClassNotFoundException.class,
+            () -> Class.forName("example.PrivateTypeHolder" + ConstantIndex.CLASS_NAME_SUFFIX, false, loader)
+        );
+    }
+    
+    @Test
+    @DisplayName("never refers to classes shadowing those of java.lang")
+    public void qualifiesJavaLang(@TempDir Path directory) throws Exception
+    {
+        ClassLoader loader = compile(directory);
+        Class<?> holder = Class.forName("shadowed.Holder", true, loader);
+        
+        assertNotNull(Class.forName("shadowed.Holder" + ConstantIndex.CLASS_NAME_SUFFIX, false, loader));
+        assertEquals(List.of("name"), Aggregates.from(holder).constantsOfType(String.class).toList());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2021-2022, RezzedUp <https://github.com/RezzedUp/Constants>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.constants.types;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cast")
+public class CastTests
+{
+    @Test
+    @DisplayName("casts with and without optionals")
+    public void casts()
+    {
+        Object string = "abc";
+        
+        assertEquals(Optional.of("abc"), Cast.as(String.class, string));
+        assertEquals(Optional.empty(), Cast.as(Integer.class, string));
+        assertEquals("abc", Cast.asOrNull(String.class, string));
+        assertNull(Cast.asOrNull(Integer.class, string));
+        assertNull(Cast.asOrNull(String.class, null));
+        assertEquals(Optional.of("abc"), Cast.as(CharSequence.class).apply(string));
+    }
+    
+    @Test
+    @DisplayName("casts into primitive types as their boxed types")
+    public void castsPrimitives()
+    {
+        assertEquals(Optional.of(1), Cast.as(int.class, 1));
+        assertEquals(Optional.of(1L), Cast.as(long.class, 1L));
+        assertEquals(Optional.of(1.5), Cast.as(double.class, 1.5));
+        assertEquals(Optional.of(true), Cast.as(boolean.class, true));
+        assertEquals(Optional.of('c'), Cast.as(char.class, 'c'));
+        
+        // Boxed values are never widened or converted.
+        assertEquals(Optional.empty(), Cast.as(int.class, 1L));
+        assertEquals(Optional.empty(), Cast.as(long.class, 1));
+        assertEquals(Optional.empty(), Cast.as(double.class, 1.5f));
+        assertEquals(Optional.empty(), Cast.as(int.class, null));
+        
+        assertEquals(Optional.of(1), Cast.optional(int.class, Optional.of(1)));
+        assertEquals(Optional.empty(), Cast.optional(int.class, Optional.of("1")));
+    }
+    
+    @Test
+    @DisplayName("reuses cached casters per type")
+    public void reusesCasters()
+    {
+        Cast.Caster<Integer> ints = Cast.caster(int.class);
+        
+        assertSame(ints, Cast.caster(int.class));
+        assertSame(Cast.as(String.class), Cast.as(String.class));
+        assertNotSame(ints, Cast.caster(Integer.class));
+        
+        assertTrue(ints.test(1));
+        assertFalse(ints.test(1L));
+        assertFalse(ints.test(null));
+        assertEquals(1, ints.castOrNull(1));
+        assertEquals(Optional.empty(), ints.cast("1"));
+        assertEquals(int.class, ints.type());
+    }
+    
+    @Test
+    @DisplayName("casts generic types by their raw type")
+    public void castsGenerics()
+    {
+        TypeCapture<List<String>> strings = new TypeCapture<>() {};
+        Object list = List.of("abc");
+        
+        assertSame(list, Cast.unsafe().genericOrNull(strings, list));
+        assertNull(Cast.unsafe().genericOrNull(strings, "abc"));
+        assertSame(Cast.caster(List.class), Cast.unsafe().caster(strings));
+        assertEquals(Optional.of(list), Cast.unsafe().generic(strings).apply(list));
+    }
+}
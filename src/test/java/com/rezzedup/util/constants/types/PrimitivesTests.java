@@ -39,4 +39,16 @@ public class PrimitivesTests
         assertFalse(Primitives.isBoxed(null));
         assertFalse(Primitives.isBoxed(new Object()));
     }
+    
+    @Test
+    public void testBoxingTypes()
+    {
+        assertEquals(Integer.class, Primitives.boxed(int.class));
+        assertEquals(Character.class, Primitives.boxed(char.class));
+        assertEquals(String.class, Primitives.boxed(String.class));
+        
+        assertEquals(long.class, Primitives.unboxed(Long.class));
+        assertEquals(boolean.class, Primitives.unboxed(Boolean.class));
+        assertEquals(String.class, Primitives.unboxed(String.class));
+    }
 }
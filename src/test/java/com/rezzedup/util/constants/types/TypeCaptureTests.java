@@ -10,14 +10,26 @@ package com.rezzedup.util.constants.types;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import pl.tlinkowski.annotation.basic.NullOr;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("TypeCapture")
 public class TypeCaptureTests
 {
+    @SuppressWarnings("unused")
+    static final List<String> STRING_LIST = List.of();
+    
     public static void distinctTypesThoroughlyEqual(TypeCapture<?> expected, TypeCapture<?> duplicate)
     {
         assertNotSame(expected, duplicate);
@@ -62,10 +74,12 @@ public class TypeCaptureTests
         }
         
         @Test
-        @DisplayName("is equal to a distinct capture of the same class")
-        public void equalsDuplicateCapture()
+        @DisplayName("is the same canonical capture as another capture of the same class")
+        public void sameAsDuplicateCapture()
         {
-            distinctTypesThoroughlyEqual(stringType, TypeCapture.type("test".getClass()));
+            assertSame(stringType, TypeCapture.type("test".getClass()));
+            assertSame(stringType, TypeCapture.type((Type) String.class));
+            assertSame(TypeCapture.any(), TypeCapture.type(Object.class));
         }
     }
     
@@ -111,5 +125,99 @@ public class TypeCaptureTests
         {
             distinctTypesThoroughlyEqual(listType, new TypeCapture<List<String>>() { });
         }
+        
+        @Test
+        @DisplayName("is equal to the canonical capture of the same generic class")
+        public void equalsCanonicalCapture() throws NoSuchFieldException
+        {
+            Type reflected = TypeCaptureTests.class.getDeclaredField("STRING_LIST").getGenericType();
+            TypeCapture<?> canonical = TypeCapture.type(reflected);
+            
+            distinctTypesThoroughlyEqual(listType, canonical);
+            assertSame(canonical, TypeCapture.type(reflected));
+            assertSame(canonical, TypeCapture.type(listType.type()));
+            assertSame(TypeCapture.type(String.class), canonical.generics().get(0));
+        }
+    }
+    
+    @Nested
+    @DisplayName("when capturing concurrently")
+    public class Concurrent
+    {
+        // Equal to (but never the same instance as) the JDK's own parameterized types.
+        Type listOf(Type parameter, int depth)
+        {
+            Type type = parameter;
+            
+            for (int i = 0; i < depth; i++)
+            {
+                Type element = type;
+                
+                type = new ParameterizedType()
+                {
+                    @Override
+                    public Type[] getActualTypeArguments() { return new Type[] {element}; }
+                    
+                    @Override
+                    public Type getRawType() { return List.class; }
+                    
+                    @Override
+                    public @NullOr Type getOwnerType() { return null; }
+                    
+                    @Override
+                    public boolean equals(@NullOr Object o)
+                    {
+                        if (!(o instanceof ParameterizedType)) { return false; }
+                        ParameterizedType that = (ParameterizedType) o;
+                        return that.getOwnerType() == null
+                            && List.class.equals(that.getRawType())
+                            && Arrays.equals(getActualTypeArguments(), that.getActualTypeArguments());
+                    }
+                    
+                    @Override
+                    public int hashCode() { return Arrays.hashCode(getActualTypeArguments()) ^ List.class.hashCode(); }
+                };
+            }
+            
+            return type;
+        }
+        
+        @Test
+        @DisplayName("returns a single canonical instance per type")
+        public void canonicalAcrossThreads() throws Exception
+        {
+            int depths = 200;
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<TypeCapture<?>>>> results = new ArrayList<>();
+            
+            try
+            {
+                for (int i = 0; i < 16; i++)
+                {
+                    results.add(executor.submit(() ->
+                    {
+                        start.await();
+                        List<TypeCapture<?>> captures = new ArrayList<>();
+                        
+                        captures.add(TypeCapture.any());
+                        for (int depth = 1; depth <= depths; depth++) { captures.add(TypeCapture.type(listOf(Long.class, depth))); }
+                        
+                        return captures;
+                    }));
+                }
+                
+                start.countDown();
+                
+                List<TypeCapture<?>> expected = results.get(0).get();
+                
+                for (Future<List<TypeCapture<?>>> result : results)
+                {
+                    List<TypeCapture<?>> actual = result.get();
+                    for (int i = 0; i <= depths; i++) { assertSame(expected.get(i), actual.get(i)); }
+                }
+            }
+            finally { executor.shutdownNow(); }
+        }
     }
 }